@@ -0,0 +1,84 @@
+package com.rkvk.automobile.automobileshop.benchmark;
+
+import com.rkvk.automobile.automobileshop.auth.dto.AuthenticationResponseDTO;
+import com.rkvk.automobile.automobileshop.entity.User;
+import com.rkvk.automobile.automobileshop.repository.UserRepository;
+import com.rkvk.automobile.automobileshop.security.JwtUtil;
+import com.rkvk.automobile.automobileshop.service.AuthService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthService.login end to end (DaoAuthenticationProvider + BCrypt + JWT issue) with the
+ * user repository stubbed in memory, next to the bare BCrypt check that dominates it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class AuthLoginBenchmark {
+
+    static final String PASSWORD = "s3cret-Passw0rd";
+
+    private PasswordEncoder passwordEncoder;
+    private String passwordHash;
+    private AuthService authService;
+
+    @Setup
+    public void setUp() {
+        // same encoder SecurityConfig registers (default strength 10)
+        passwordEncoder = new BCryptPasswordEncoder();
+        passwordHash = passwordEncoder.encode(PASSWORD);
+
+        User user = new User();
+        user.setUserId(1L);
+        user.setUsername("admin");
+        user.setPassword(passwordHash);
+        user.setRole(User.Role.ADMIN);
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(username -> org.springframework.security.core.userdetails.User
+                .withUsername(user.getUsername())
+                .password(user.getPassword())
+                .authorities(new SimpleGrantedAuthority(user.getRole().name()))
+                .build());
+        provider.setPasswordEncoder(passwordEncoder);
+
+        JwtUtil jwtUtil = new JwtUtil(JwtAuthBenchmark.SECRET, TimeUnit.HOURS.toMillis(1));
+        authService = new AuthService(userRepository(user), passwordEncoder,
+                new ProviderManager(provider), jwtUtil);
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return passwordEncoder.matches(PASSWORD, passwordHash);
+    }
+
+    @Benchmark
+    public AuthenticationResponseDTO login() {
+        return authService.login("admin", PASSWORD);
+    }
+
+    // Only findByUsername is reached from login()
+    private static UserRepository userRepository(User user) {
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByUsername")) {
+                        return Optional.of(user).filter(u -> u.getUsername().equals(args[0]));
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
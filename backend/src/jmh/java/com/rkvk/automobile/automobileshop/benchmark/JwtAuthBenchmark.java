@@ -0,0 +1,58 @@
+package com.rkvk.automobile.automobileshop.benchmark;
+
+import com.rkvk.automobile.automobileshop.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT cost in JwtAuthenticationFilter, plus token issuing at login.
+ * legacyValidateThenSubject reproduces the old filter: a fresh parser for validateToken
+ * and another for getUsernameFromToken, so the HMAC is verified twice.
+ * parseAndValidate is the current path: one shared parser, one verification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtUtil jwtUtil;
+    private Key key;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, TimeUnit.HOURS.toMillis(1));
+        key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        token = jwtUtil.generateToken("receptionist1", "RECEPTIONIST");
+    }
+
+    @Benchmark
+    public String legacyValidateThenSubject() {
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        return Jwts.parserBuilder().setSigningKey(key).build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String parseAndValidate() {
+        Claims claims = jwtUtil.parseAndValidate(token).orElseThrow();
+        return claims.getSubject();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("receptionist1", "RECEPTIONIST");
+    }
+}
@@ -0,0 +1,146 @@
+package com.rkvk.automobile.automobileshop.benchmark;
+
+import com.rkvk.automobile.automobileshop.dto.CustomerDTO;
+import com.rkvk.automobile.automobileshop.dto.InvoiceDTO;
+import com.rkvk.automobile.automobileshop.dto.UserDTO;
+import com.rkvk.automobile.automobileshop.entity.*;
+import com.rkvk.automobile.automobileshop.entity.id.CustomerEmailId;
+import com.rkvk.automobile.automobileshop.entity.id.CustomerMiddleNameId;
+import com.rkvk.automobile.automobileshop.entity.id.UserEmailId;
+import com.rkvk.automobile.automobileshop.entity.id.UsesId;
+import com.rkvk.automobile.automobileshop.mapper.CustomerMapper;
+import com.rkvk.automobile.automobileshop.mapper.InvoiceMapper;
+import com.rkvk.automobile.automobileshop.mapper.UserMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity → DTO mapping on detached, fully populated entities, i.e. the CPU part of
+ * every read endpoint without any lazy loading.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    // line items per invoice
+    @Param({"3", "20"})
+    public int usedParts;
+
+    private Invoice invoice;
+    private Customer customer;
+    private User user;
+    private final CustomerMapper customerMapper = new CustomerMapper();
+
+    @Setup
+    public void setUp() {
+        invoice = invoice(usedParts);
+        customer = customer();
+        user = user();
+    }
+
+    @Benchmark
+    public InvoiceDTO invoiceToDto() {
+        return InvoiceMapper.toDTO(invoice);
+    }
+
+    @Benchmark
+    public CustomerDTO customerToDto() {
+        return customerMapper.entityToDto(customer);
+    }
+
+    @Benchmark
+    public UserDTO userToDto() {
+        return UserMapper.toDTO(user);
+    }
+
+    static Invoice invoice(int lines) {
+        Invoice invoice = Invoice.builder()
+                .invoiceId(1L)
+                .taxPercentage(18.0)
+                .labourCost(1500.0)
+                .usedParts(new HashSet<>())
+                .mechanics(new HashSet<>())
+                .build();
+
+        for (long p = 1; p <= lines; p++) {
+            Inventory part = Inventory.builder()
+                    .partId(p)
+                    .name("Part " + p)
+                    .quantityAvailable(100)
+                    .unitPrice(250.0 + p)
+                    .build();
+            invoice.getUsedParts().add(Uses.builder()
+                    .id(new UsesId(1L, p))
+                    .invoice(invoice)
+                    .part(part)
+                    .count((int) (p % 4) + 1)
+                    .build());
+        }
+
+        Set<Mechanic> mechanics = invoice.getMechanics();
+        for (long m = 1; m <= 2; m++) {
+            mechanics.add(Mechanic.builder()
+                    .mechanicId(m)
+                    .firstName("Mechanic")
+                    .lastName("No" + m)
+                    .houseNo("12")
+                    .street("Workshop Road")
+                    .locality("Industrial Area")
+                    .city("Pune")
+                    .pinCode("411001")
+                    .build());
+        }
+        return invoice;
+    }
+
+    static Customer customer() {
+        Customer customer = new Customer();
+        customer.setCustomerId(1L);
+        customer.setFirstName("Asha");
+        customer.setLastName("Kulkarni");
+        customer.setHouseNo("7B");
+        customer.setStreet("MG Road");
+        customer.setLocality("Camp");
+        customer.setCity("Pune");
+        customer.setPinCode("411001");
+
+        List<CustomerMiddleName> middleNames = new ArrayList<>();
+        middleNames.add(CustomerMiddleName.builder()
+                .id(new CustomerMiddleNameId(1L, "Ramesh"))
+                .middleNameOrder(0)
+                .customer(customer)
+                .build());
+        customer.setMiddleNames(middleNames);
+
+        List<CustomerEmail> emails = new ArrayList<>();
+        emails.add(CustomerEmail.builder().id(new CustomerEmailId(1L, "asha@example.com")).customer(customer).build());
+        emails.add(CustomerEmail.builder().id(new CustomerEmailId(1L, "asha.k@example.com")).customer(customer).build());
+        customer.setEmails(emails);
+        return customer;
+    }
+
+    static User user() {
+        User user = new User();
+        user.setUserId(1L);
+        user.setUsername("receptionist1");
+        user.setRole(User.Role.RECEPTIONIST);
+        user.setFirstName("Neha");
+        user.setLastName("Joshi");
+        user.setCity("Pune");
+        user.setPinCode("411001");
+
+        List<UserEmail> emails = new ArrayList<>();
+        emails.add(UserEmail.builder().id(new UserEmailId(1L, "neha@example.com")).user(user).build());
+        user.setEmails(emails);
+        return user;
+    }
+}
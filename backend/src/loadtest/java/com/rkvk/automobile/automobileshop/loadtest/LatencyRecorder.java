@@ -0,0 +1,77 @@
+package com.rkvk.automobile.automobileshop.loadtest;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint latency samples. Each endpoint keeps a growable long[] guarded by its own
+ * lock; contention is per endpoint, and the harness is not what we are measuring.
+ */
+class LatencyRecorder {
+
+    private final Map<String, Samples> byEndpoint = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean ok) {
+        byEndpoint.computeIfAbsent(endpoint, k -> new Samples()).add(nanos, ok);
+    }
+
+    String report(double seconds) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-38s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+
+        Samples total = new Samples();
+        new TreeMap<>(byEndpoint).forEach((endpoint, samples) -> {
+            sb.append(line(endpoint, samples.snapshot(), samples.errors(), seconds));
+            total.addAll(samples);
+        });
+        sb.append(line("TOTAL", total.snapshot(), total.errors(), seconds));
+        return sb.toString();
+    }
+
+    private static String line(String endpoint, long[] sorted, long errors, double seconds) {
+        return String.format("%-38s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, sorted.length, errors, sorted.length / seconds,
+                millis(percentile(sorted, 50)), millis(percentile(sorted, 95)),
+                millis(percentile(sorted, 99)), millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+    }
+
+    // nearest-rank percentile on a sorted array
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Samples {
+        private long[] values = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long nanos, boolean ok) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = nanos;
+            if (!ok) errors++;
+        }
+
+        synchronized void addAll(Samples other) {
+            long[] theirs = other.snapshot();
+            for (long v : theirs) add(v, true);
+            errors += other.errors();
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        synchronized long[] snapshot() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.rkvk.automobile.automobileshop.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rkvk.automobile.automobileshop.dto.AppointmentDTO;
+import com.rkvk.automobile.automobileshop.dto.InvoiceDTO;
+import com.rkvk.automobile.automobileshop.dto.UsedPartDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop HTTP driver: a fixed number of workers each send the next request as soon as
+ * the previous one returns, picking an endpoint from a weighted read-heavy mix. Requests
+ * during the warm-up window are sent but not recorded.
+ */
+@Slf4j
+class LoadDriver {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final String bearer;
+    private final ObjectMapper objectMapper;
+    private final LoadTestSeeder.SeededData data;
+    private final List<Scenario> mix;
+    private final AtomicInteger nextOpenAppointment = new AtomicInteger();
+
+    LoadDriver(String baseUrl, String token, ObjectMapper objectMapper, LoadTestSeeder.SeededData data) {
+        this.baseUrl = baseUrl;
+        this.bearer = "Bearer " + token;
+        this.objectMapper = objectMapper;
+        this.data = data;
+        this.mix = weightedMix();
+    }
+
+    LatencyRecorder run(int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        long recordFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = recordFrom + duration.toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int w = 0; w < concurrency; w++) {
+            workers.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < stopAt) {
+                    Scenario scenario = mix.get(random.nextInt(mix.size()));
+                    long start = System.nanoTime();
+                    boolean ok = scenario.call(random);
+                    if (start >= recordFrom) {
+                        recorder.record(scenario.name(), System.nanoTime() - start, ok);
+                    }
+                }
+                return null;
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(warmup.plus(duration).toSeconds() + 60, TimeUnit.SECONDS);
+        return recorder;
+    }
+
+    private List<Scenario> weightedMix() {
+        List<Scenario> scenarios = new ArrayList<>();
+        add(scenarios, 3, new Scenario("GET  /api/customers/{id}",
+                r -> get("/api/customers/" + any(data.customerIds(), r))));
+        add(scenarios, 2, new Scenario("GET  /api/customers/page",
+                r -> get("/api/customers/page?afterId=" + any(data.customerIds(), r) + "&limit=50")));
+        add(scenarios, 3, new Scenario("GET  /api/invoices/{id}",
+                r -> get("/api/invoices/" + any(data.invoiceIds(), r))));
+        add(scenarios, 1, new Scenario("GET  /api/invoices/appointment/{id}",
+                r -> get("/api/invoices/appointment/" + any(data.invoicedAppointmentIds(), r))));
+        add(scenarios, 1, new Scenario("GET  /api/invoices/customers/{id}",
+                r -> get("/api/invoices/customers/" + any(data.customerIds(), r))));
+        add(scenarios, 1, new Scenario("GET  /api/invoices/page",
+                r -> get("/api/invoices/page?afterId=" + any(data.invoiceIds(), r) + "&limit=50")));
+        add(scenarios, 2, new Scenario("GET  /api/appointments/{id}",
+                r -> get("/api/appointments/" + any(data.invoicedAppointmentIds(), r))));
+        add(scenarios, 1, new Scenario("GET  /api/appointments/page",
+                r -> get("/api/appointments/page?afterId=" + any(data.invoicedAppointmentIds(), r) + "&limit=50")));
+        add(scenarios, 1, new Scenario("POST /api/appointments", this::createAppointment));
+        add(scenarios, 1, new Scenario("POST /api/invoices", this::createInvoice));
+        return scenarios;
+    }
+
+    private boolean createAppointment(ThreadLocalRandom r) {
+        AppointmentDTO dto = AppointmentDTO.builder()
+                .userId(data.adminUserId())
+                .vehicleId(any(data.vehicleIds(), r))
+                .serviceIds(Set.of(any(data.serviceIds(), r)))
+                // on the slot grid (9:00-18:00, hourly) so the scheduler accepts it
+                .dateTime(LocalDate.now().plusDays(1 + r.nextInt(60)).atTime(9 + r.nextInt(9), 0))
+                .build();
+        return post("/api/appointments", dto);
+    }
+
+    // each open appointment can be invoiced once; after they run out this falls back to a read
+    private boolean createInvoice(ThreadLocalRandom r) {
+        int next = nextOpenAppointment.getAndIncrement();
+        if (next >= data.openAppointmentIds().size()) {
+            return get("/api/invoices/" + any(data.invoiceIds(), r));
+        }
+        Set<UsedPartDTO> lines = new HashSet<>();
+        for (int i = 0; i < 1 + r.nextInt(4); i++) {
+            lines.add(UsedPartDTO.builder().partId(any(data.partIds(), r)).count(1 + r.nextInt(3)).build());
+        }
+        InvoiceDTO dto = InvoiceDTO.builder()
+                .appointmentId(data.openAppointmentIds().get(next))
+                .taxPercentage(18.0)
+                .labourCost(750.0)
+                .usedParts(lines)
+                .build();
+        return post("/api/invoices", dto);
+    }
+
+    private boolean get(String path) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+    }
+
+    private boolean post(String path, Object body) {
+        try {
+            return send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))));
+        } catch (Exception e) {
+            log.warn("Could not serialize request for {}: {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean send(HttpRequest.Builder request) {
+        try {
+            HttpResponse<Void> response = client.send(
+                    request.header("Authorization", bearer).timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Long any(List<Long> ids, ThreadLocalRandom r) {
+        return ids.get(r.nextInt(ids.size()));
+    }
+
+    private static void add(List<Scenario> scenarios, int weight, Scenario scenario) {
+        for (int i = 0; i < weight; i++) scenarios.add(scenario);
+    }
+
+    private record Scenario(String name, Call call) {
+        boolean call(ThreadLocalRandom random) {
+            return call.call(random);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        boolean call(ThreadLocalRandom random);
+    }
+}
@@ -0,0 +1,67 @@
+package com.rkvk.automobile.automobileshop.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rkvk.automobile.automobileshop.AutomobileApplication;
+import com.rkvk.automobile.automobileshop.repository.*;
+import com.rkvk.automobile.automobileshop.security.JwtUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Boots the application on a random port against in-memory H2 (profile "loadtest"),
+ * seeds it, then drives authenticated HTTP traffic and prints per-endpoint latency
+ * percentiles and throughput.
+ *
+ *   mvn -Ploadtest test-compile exec:java
+ *   mvn -Ploadtest test-compile exec:java -Dloadtest.concurrency=64 -Dloadtest.duration-seconds=120
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        SpringApplication app = new SpringApplication(AutomobileApplication.class);
+        app.setAdditionalProfiles("loadtest");
+
+        try (ConfigurableApplicationContext ctx = app.run(args)) {
+            Environment env = ctx.getEnvironment();
+            int port = ((WebServerApplicationContext) ctx).getWebServer().getPort();
+
+            LoadTestSeeder.SeededData data = new LoadTestSeeder(
+                    env,
+                    ctx.getBean(UserRepository.class),
+                    ctx.getBean(CustomerRepository.class),
+                    ctx.getBean(CustomerEmailRepository.class),
+                    ctx.getBean(VehicleRepository.class),
+                    ctx.getBean(ServiceEntityRepository.class),
+                    ctx.getBean(MechanicRepository.class),
+                    ctx.getBean(InventoryRepository.class),
+                    ctx.getBean(AppointmentRepository.class),
+                    ctx.getBean(InvoiceRepository.class),
+                    ctx.getBean(UsesRepository.class),
+                    ctx.getBean(PasswordEncoder.class)
+            ).seed();
+
+            String token = ctx.getBean(JwtUtil.class).generateToken(LoadTestSeeder.ADMIN_USERNAME, "ADMIN");
+
+            int concurrency = env.getProperty("loadtest.concurrency", Integer.class, 16);
+            Duration warmup = Duration.ofSeconds(env.getProperty("loadtest.warmup-seconds", Integer.class, 10));
+            Duration duration = Duration.ofSeconds(env.getProperty("loadtest.duration-seconds", Integer.class, 60));
+
+            log.info("Driving http://localhost:{} with {} workers: {}s warm-up, {}s measured",
+                    port, concurrency, warmup.toSeconds(), duration.toSeconds());
+
+            LatencyRecorder recorder = new LoadDriver("http://localhost:" + port, token,
+                    ctx.getBean(ObjectMapper.class), data)
+                    .run(concurrency, warmup, duration);
+
+            System.out.println();
+            System.out.println(recorder.report(duration.toMillis() / 1000.0));
+        }
+    }
+}
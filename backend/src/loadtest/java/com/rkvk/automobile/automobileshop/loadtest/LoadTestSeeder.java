@@ -0,0 +1,258 @@
+package com.rkvk.automobile.automobileshop.loadtest;
+
+import com.rkvk.automobile.automobileshop.entity.*;
+import com.rkvk.automobile.automobileshop.entity.id.CustomerEmailId;
+import com.rkvk.automobile.automobileshop.entity.id.UsesId;
+import com.rkvk.automobile.automobileshop.repository.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Fills the embedded database with a realistic shop: customers with vehicles, a service
+ * and parts catalog, mechanics, appointments and invoices for most of them. Volumes come
+ * from loadtest.* properties so they can be raised with -Dloadtest.customers=... etc.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class LoadTestSeeder {
+
+    static final String ADMIN_USERNAME = "loadtest-admin";
+    private static final int CHUNK = 500;
+
+    private final Environment env;
+    private final UserRepository userRepository;
+    private final CustomerRepository customerRepository;
+    private final CustomerEmailRepository customerEmailRepository;
+    private final VehicleRepository vehicleRepository;
+    private final ServiceEntityRepository serviceEntityRepository;
+    private final MechanicRepository mechanicRepository;
+    private final InventoryRepository inventoryRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final UsesRepository usesRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    private final Random random = new Random(42);
+
+    SeededData seed() {
+        long started = System.currentTimeMillis();
+
+        User admin = new User();
+        admin.setUsername(ADMIN_USERNAME);
+        admin.setPassword(passwordEncoder.encode("loadtest"));
+        admin.setRole(User.Role.ADMIN);
+        admin.setFirstName("Load");
+        admin.setLastName("Test");
+        admin = userRepository.save(admin);
+
+        List<Customer> customers = seedCustomers(count("customers", 2000));
+        List<Vehicle> vehicles = seedVehicles(customers, count("vehicles-per-customer", 2));
+        List<ServiceEntity> services = seedServices(count("services", 25));
+        List<Mechanic> mechanics = seedMechanics(count("mechanics", 40));
+        List<Inventory> parts = seedParts(count("parts", 500));
+        List<Appointment> appointments = seedAppointments(admin, vehicles, services, count("appointments", 6000));
+
+        // invoice most appointments; the rest are left for the driver's invoice POSTs
+        int invoiced = (int) (appointments.size() * 0.8);
+        List<Invoice> invoices = seedInvoices(appointments.subList(0, invoiced), parts, mechanics);
+        List<Long> openAppointmentIds = appointments.subList(invoiced, appointments.size()).stream()
+                .map(Appointment::getAppointmentId)
+                .toList();
+
+        log.info("Seeded {} customers, {} vehicles, {} services, {} mechanics, {} parts, {} appointments, {} invoices in {} ms",
+                customers.size(), vehicles.size(), services.size(), mechanics.size(), parts.size(),
+                appointments.size(), invoices.size(), System.currentTimeMillis() - started);
+
+        return new SeededData(
+                admin.getUserId(),
+                ids(customers, Customer::getCustomerId),
+                ids(vehicles, Vehicle::getVehicleId),
+                ids(services, ServiceEntity::getServiceId),
+                ids(parts, Inventory::getPartId),
+                ids(appointments.subList(0, invoiced), Appointment::getAppointmentId),
+                ids(invoices, Invoice::getInvoiceId),
+                openAppointmentIds);
+    }
+
+    private List<Customer> seedCustomers(int n) {
+        List<Customer> customers = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Customer c = new Customer();
+            c.setFirstName(pick(FIRST_NAMES));
+            c.setLastName(pick(LAST_NAMES));
+            c.setHouseNo(String.valueOf(1 + random.nextInt(300)));
+            c.setStreet(pick(STREETS));
+            c.setLocality(pick(LOCALITIES));
+            c.setCity(pick(CITIES));
+            c.setPinCode(String.valueOf(400000 + random.nextInt(99999)));
+            customers.add(c);
+        }
+        customers = saveInChunks(customers, customerRepository::saveAll);
+
+        // emails are keyed by customer id, so they go in after the customers exist
+        List<CustomerEmail> emails = new ArrayList<>(customers.size());
+        for (Customer c : customers) {
+            emails.add(CustomerEmail.builder()
+                    .id(new CustomerEmailId(c.getCustomerId(), "customer" + c.getCustomerId() + "@example.com"))
+                    .customer(c)
+                    .build());
+        }
+        saveInChunks(emails, customerEmailRepository::saveAll);
+        return customers;
+    }
+
+    private List<Vehicle> seedVehicles(List<Customer> customers, int perCustomer) {
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (Customer c : customers) {
+            int owned = 1 + random.nextInt(perCustomer);
+            for (int v = 0; v < owned; v++) {
+                Vehicle vehicle = new Vehicle();
+                vehicle.setRegistrationNo("MH" + (10 + random.nextInt(40)) + "LT" + (1000 + vehicles.size()));
+                vehicle.setBrand(pick(BRANDS));
+                vehicle.setModel("Model " + (char) ('A' + random.nextInt(6)));
+                vehicle.setYear(2008 + random.nextInt(17));
+                vehicle.setFuelType(random.nextBoolean() ? "PETROL" : "DIESEL");
+                vehicle.setCustomer(c);
+                vehicles.add(vehicle);
+            }
+        }
+        return saveInChunks(vehicles, vehicleRepository::saveAll);
+    }
+
+    private List<ServiceEntity> seedServices(int n) {
+        List<ServiceEntity> services = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            services.add(ServiceEntity.builder()
+                    .serviceName("Service " + (i + 1))
+                    .description("Load test service " + (i + 1))
+                    .build());
+        }
+        return saveInChunks(services, serviceEntityRepository::saveAll);
+    }
+
+    private List<Mechanic> seedMechanics(int n) {
+        List<Mechanic> mechanics = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            mechanics.add(Mechanic.builder()
+                    .firstName(pick(FIRST_NAMES))
+                    .lastName(pick(LAST_NAMES))
+                    .city(pick(CITIES))
+                    .pinCode(String.valueOf(400000 + random.nextInt(99999)))
+                    .build());
+        }
+        return saveInChunks(mechanics, mechanicRepository::saveAll);
+    }
+
+    private List<Inventory> seedParts(int n) {
+        List<Inventory> parts = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            parts.add(Inventory.builder()
+                    .name("Part " + (i + 1))
+                    // large enough that invoice POSTs never run a part dry during a run
+                    .quantityAvailable(1_000_000)
+                    .unitPrice(50.0 + random.nextInt(5000))
+                    .build());
+        }
+        return saveInChunks(parts, inventoryRepository::saveAll);
+    }
+
+    private List<Appointment> seedAppointments(User admin, List<Vehicle> vehicles,
+                                               List<ServiceEntity> services, int n) {
+        LocalDateTime start = LocalDateTime.now().minusDays(365).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        List<Appointment> appointments = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Appointment a = new Appointment();
+            a.setUser(admin);
+            a.setVehicle(vehicles.get(random.nextInt(vehicles.size())));
+            a.setServices(new HashSet<>(sample(services, 1 + random.nextInt(3))));
+            a.setDateTime(start.plusDays(random.nextInt(400)).plusHours(random.nextInt(9)));
+            a.setCreatedAt(a.getDateTime().minusDays(1 + random.nextInt(14)));
+            a.setStatus(Appointment.AppointmentStatus.COMPLETED);
+            appointments.add(a);
+        }
+        return saveInChunks(appointments, appointmentRepository::saveAll);
+    }
+
+    private List<Invoice> seedInvoices(List<Appointment> appointments, List<Inventory> parts, List<Mechanic> mechanics) {
+        List<Invoice> invoices = new ArrayList<>(appointments.size());
+        for (Appointment a : appointments) {
+            invoices.add(Invoice.builder()
+                    .appointment(a)
+                    .taxPercentage(18.0)
+                    .labourCost(500.0 + random.nextInt(3000))
+                    .usedParts(new HashSet<>())
+                    .mechanics(new HashSet<>(sample(mechanics, 1 + random.nextInt(2))))
+                    .build());
+        }
+        invoices = saveInChunks(invoices, invoiceRepository::saveAll);
+
+        List<Uses> lines = new ArrayList<>();
+        for (Invoice invoice : invoices) {
+            for (Inventory part : sample(parts, 1 + random.nextInt(5))) {
+                lines.add(Uses.builder()
+                        .id(new UsesId(invoice.getInvoiceId(), part.getPartId()))
+                        .invoice(invoice)
+                        .part(part)
+                        .count(1 + random.nextInt(4))
+                        .build());
+            }
+        }
+        saveInChunks(lines, usesRepository::saveAll);
+        return invoices;
+    }
+
+    private <T> List<T> saveInChunks(List<T> entities, java.util.function.Function<List<T>, List<T>> saveAll) {
+        List<T> saved = new ArrayList<>(entities.size());
+        for (int from = 0; from < entities.size(); from += CHUNK) {
+            saved.addAll(saveAll.apply(entities.subList(from, Math.min(from + CHUNK, entities.size()))));
+        }
+        return saved;
+    }
+
+    private int count(String key, int defaultValue) {
+        return env.getProperty("loadtest." + key, Integer.class, defaultValue);
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private <T> List<T> sample(List<T> values, int k) {
+        Set<T> picked = new LinkedHashSet<>();
+        while (picked.size() < Math.min(k, values.size())) {
+            picked.add(pick(values));
+        }
+        return new ArrayList<>(picked);
+    }
+
+    private static <T> List<Long> ids(List<T> entities, java.util.function.Function<T, Long> id) {
+        return entities.stream().map(id).toList();
+    }
+
+    record SeededData(Long adminUserId,
+                      List<Long> customerIds,
+                      List<Long> vehicleIds,
+                      List<Long> serviceIds,
+                      List<Long> partIds,
+                      List<Long> invoicedAppointmentIds,
+                      List<Long> invoiceIds,
+                      List<Long> openAppointmentIds) {
+    }
+
+    private static final List<String> FIRST_NAMES = List.of(
+            "Aarav", "Vivaan", "Aditya", "Ishaan", "Ananya", "Diya", "Saanvi", "Priya", "Rohan", "Kavya");
+    private static final List<String> LAST_NAMES = List.of(
+            "Sharma", "Patil", "Kulkarni", "Deshpande", "Iyer", "Reddy", "Naik", "Joshi", "Mehta", "Rao");
+    private static final List<String> STREETS = List.of(
+            "MG Road", "FC Road", "Station Road", "Link Road", "Karve Road", "Baner Road");
+    private static final List<String> LOCALITIES = List.of(
+            "Kothrud", "Aundh", "Camp", "Hadapsar", "Wakad", "Viman Nagar");
+    private static final List<String> CITIES = List.of("Pune", "Mumbai", "Nashik", "Nagpur");
+    private static final List<String> BRANDS = List.of(
+            "Maruti", "Hyundai", "Tata", "Mahindra", "Honda", "Toyota");
+}
@@ -1,6 +1,9 @@
 package com.rkvk.automobile.automobileshop.controller;
 
 import com.rkvk.automobile.automobileshop.dto.AppointmentDTO;
+import com.rkvk.automobile.automobileshop.dto.CalendarDayDTO;
+import com.rkvk.automobile.automobileshop.dto.KeysetPageDTO;
+import com.rkvk.automobile.automobileshop.dto.SlotAvailabilityDTO;
 import com.rkvk.automobile.automobileshop.entity.Appointment;
 import com.rkvk.automobile.automobileshop.mapper.AppointmentMapper;
 import com.rkvk.automobile.automobileshop.service.AppointmentService;
@@ -10,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -37,33 +41,33 @@ public class AppointmentController {
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
     public ResponseEntity<List<AppointmentDTO>> getAllAppointments() {
-        List<AppointmentDTO> list = appointmentService.getAllAppointments()
-                .stream().map(AppointmentMapper::toDTO).toList();
-        return ResponseEntity.ok(list);
+        return ResponseEntity.ok(appointmentService.getAllAppointments());
+    }
+
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
+    public ResponseEntity<KeysetPageDTO<AppointmentDTO>> getAppointmentPage(
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "" + KeysetPageDTO.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(appointmentService.getAppointmentPage(afterId, limit));
     }
 
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
     public ResponseEntity<List<AppointmentDTO>> getByUser(@PathVariable Long userId) {
-        List<AppointmentDTO> list = appointmentService.getAppointmentsByUser(userId)
-                .stream().map(AppointmentMapper::toDTO).toList();
-        return ResponseEntity.ok(list);
+        return ResponseEntity.ok(appointmentService.getAppointmentsByUser(userId));
     }
 
     @GetMapping("/vehicle/{vehicleId}")
     @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
     public ResponseEntity<List<AppointmentDTO>> getByVehicle(@PathVariable Long vehicleId) {
-        List<AppointmentDTO> list = appointmentService.getAppointmentsByVehicle(vehicleId)
-                .stream().map(AppointmentMapper::toDTO).toList();
-        return ResponseEntity.ok(list);
+        return ResponseEntity.ok(appointmentService.getAppointmentsByVehicle(vehicleId));
     }
 
     @GetMapping("/service/{serviceId}")
     @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
     public ResponseEntity<List<AppointmentDTO>> getByService(@PathVariable Long serviceId) {
-        List<AppointmentDTO> list = appointmentService.getAppointmentsByService(serviceId)
-                .stream().map(AppointmentMapper::toDTO).toList();
-        return ResponseEntity.ok(list);
+        return ResponseEntity.ok(appointmentService.getAppointmentsByService(serviceId));
     }
 
     @GetMapping("/created-range")
@@ -71,9 +75,7 @@ public class AppointmentController {
     public ResponseEntity<List<AppointmentDTO>> getByCreatedRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
-        List<AppointmentDTO> list = appointmentService.getAppointmentsByCreatedRange(start, end)
-                .stream().map(AppointmentMapper::toDTO).toList();
-        return ResponseEntity.ok(list);
+        return ResponseEntity.ok(appointmentService.getAppointmentsByCreatedRange(start, end));
     }
 
     @GetMapping("/scheduled-range")
@@ -81,9 +83,36 @@ public class AppointmentController {
     public ResponseEntity<List<AppointmentDTO>> getByScheduledRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
-        List<AppointmentDTO> list = appointmentService.getAppointmentsByScheduledRange(start, end)
-                .stream().map(AppointmentMapper::toDTO).toList();
-        return ResponseEntity.ok(list);
+        return ResponseEntity.ok(appointmentService.getAppointmentsByScheduledRange(start, end));
+    }
+
+    // Day / week view for the receptionist calendar: cards with vehicle, customer and service names
+    @GetMapping("/calendar")
+    @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
+    public ResponseEntity<List<CalendarDayDTO>> getCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "1") int days) {
+        return ResponseEntity.ok(appointmentService.getCalendar(from, days));
+    }
+
+    // Slot checks answered from the in-memory slot index
+    @GetMapping("/availability")
+    @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
+    public ResponseEntity<SlotAvailabilityDTO> getAvailability(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateTime,
+            @RequestParam(required = false) Integer bayNo,
+            @RequestParam(required = false) Long mechanicId) {
+        return ResponseEntity.ok(appointmentService.getSlotAvailability(dateTime, bayNo, mechanicId));
+    }
+
+    @GetMapping("/free-slots")
+    @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
+    public ResponseEntity<List<SlotAvailabilityDTO>> getFreeSlots(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(defaultValue = "10") int count,
+            @RequestParam(required = false) Integer bayNo,
+            @RequestParam(required = false) Long mechanicId) {
+        return ResponseEntity.ok(appointmentService.findFreeSlots(from, count, bayNo, mechanicId));
     }
 
     @DeleteMapping("/{id}")
@@ -96,18 +125,14 @@ public class AppointmentController {
     @GetMapping("/status/{status}")
     @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
     public ResponseEntity<List<AppointmentDTO>> getByStatus(@PathVariable Appointment.AppointmentStatus status) {
-        List<AppointmentDTO> list = appointmentService.getAppointmentsByStatus(status)
-                .stream().map(AppointmentMapper::toDTO).toList();
-        return ResponseEntity.ok(list);
+        return ResponseEntity.ok(appointmentService.getAppointmentsByStatus(status));
     }
 
     @GetMapping("/user/{userId}/status/{status}")
     @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
     public ResponseEntity<List<AppointmentDTO>> getByUserAndStatus(@PathVariable Long userId,
                                                                    @PathVariable Appointment.AppointmentStatus status) {
-        List<AppointmentDTO> list = appointmentService.getAppointmentsByUserAndStatus(userId, status)
-                .stream().map(AppointmentMapper::toDTO).toList();
-        return ResponseEntity.ok(list);
+        return ResponseEntity.ok(appointmentService.getAppointmentsByUserAndStatus(userId, status));
     }
 
     @PatchMapping("/{id}/status")
@@ -0,0 +1,30 @@
+package com.rkvk.automobile.automobileshop.controller;
+
+import com.rkvk.automobile.automobileshop.dto.CacheRegionStatsDTO;
+import com.rkvk.automobile.automobileshop.service.CacheStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    // ----- SECOND-LEVEL CACHE STATS -----
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStatsDTO>> getStats() {
+        return ResponseEntity.ok(cacheStatisticsService.getSecondLevelCacheStats());
+    }
+
+    // ----- RESET COUNTERS -----
+    @DeleteMapping("/stats")
+    public ResponseEntity<String> clearStats() {
+        cacheStatisticsService.clearStatistics();
+        return ResponseEntity.ok("Cache statistics cleared");
+    }
+}
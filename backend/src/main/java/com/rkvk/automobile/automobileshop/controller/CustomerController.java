@@ -1,6 +1,10 @@
 package com.rkvk.automobile.automobileshop.controller;
 
 import com.rkvk.automobile.automobileshop.dto.CustomerDTO;
+import com.rkvk.automobile.automobileshop.dto.CustomerImportDTO;
+import com.rkvk.automobile.automobileshop.dto.ImportResultDTO;
+import com.rkvk.automobile.automobileshop.dto.KeysetPageDTO;
+import com.rkvk.automobile.automobileshop.service.CustomerImportService;
 import com.rkvk.automobile.automobileshop.service.CustomerService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -14,6 +18,7 @@ import java.util.List;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CustomerImportService customerImportService;
 
     @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
     @PostMapping
@@ -27,6 +32,14 @@ public class CustomerController {
         return customerService.getAllCustomers();
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
+    @GetMapping("/page")
+    public KeysetPageDTO<CustomerDTO> getCustomerPage(
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "" + KeysetPageDTO.DEFAULT_LIMIT) int limit) {
+        return customerService.getCustomerPage(afterId, limit);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
     @GetMapping("/{id}")
     public CustomerDTO getCustomerById(@PathVariable Long id) {
@@ -45,4 +58,11 @@ public class CustomerController {
         customerService.deleteCustomer(id);
         return "Customer with ID " + id + " deleted successfully.";
     }
+
+    // Bulk migration: a batch of customers with their vehicles, written with JDBC batching
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/import")
+    public ImportResultDTO importCustomers(@RequestBody List<CustomerImportDTO> batch) {
+        return customerImportService.importCustomers(batch);
+    }
 }
@@ -1,14 +1,18 @@
 package com.rkvk.automobile.automobileshop.controller;
 
+import com.rkvk.automobile.automobileshop.dto.ImportResultDTO;
 import com.rkvk.automobile.automobileshop.dto.InventoryDTO;
 import com.rkvk.automobile.automobileshop.entity.Inventory;
 import com.rkvk.automobile.automobileshop.mapper.InventoryMapper;
+import com.rkvk.automobile.automobileshop.service.InventoryImportService;
 import com.rkvk.automobile.automobileshop.service.InventoryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -17,6 +21,7 @@ import java.util.List;
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final InventoryImportService inventoryImportService;
 
     // ----- CREATE (ADMIN only) -----
     @PostMapping
@@ -54,11 +59,7 @@ public class InventoryController {
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
     public ResponseEntity<List<InventoryDTO>> getAllInventory() {
-        List<InventoryDTO> parts = inventoryService.getAllInventory()
-                .stream()
-                .map(InventoryMapper::toDTO)
-                .toList();
-        return ResponseEntity.ok(parts);
+        return ResponseEntity.ok(inventoryService.getAllInventory());
     }
 
     // ----- DECREASE STOCK (both) -----
@@ -78,4 +79,16 @@ public class InventoryController {
         Inventory updated = inventoryService.increaseStock(id, quantity);
         return ResponseEntity.ok(InventoryMapper.toDTO(updated));
     }
+
+    // ----- BULK IMPORT / CATALOG REFRESH (ADMIN only) -----
+    // Body is read as a stream: text/csv with a header row, a JSON array or NDJSON
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportResultDTO> importCatalog(
+            InputStream body,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @RequestParam(required = false) String format) {
+        InventoryImportService.Format f = InventoryImportService.Format.of(format, contentType);
+        return ResponseEntity.ok(inventoryImportService.importCatalog(body, f));
+    }
 }
@@ -1,11 +1,19 @@
 package com.rkvk.automobile.automobileshop.controller;
 
 import com.rkvk.automobile.automobileshop.dto.InvoiceDTO;
+import com.rkvk.automobile.automobileshop.dto.InvoiceTotalsDTO;
+import com.rkvk.automobile.automobileshop.dto.KeysetPageDTO;
+import com.rkvk.automobile.automobileshop.service.InvoiceExportService;
 import com.rkvk.automobile.automobileshop.service.InvoiceService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -14,6 +22,7 @@ import java.util.List;
 public class InvoiceController {
 
     private final InvoiceService invoiceService;
+    private final InvoiceExportService invoiceExportService;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
@@ -66,4 +75,54 @@ public class InvoiceController {
     public ResponseEntity<List<InvoiceDTO>> getAllInvoices() {
         return ResponseEntity.ok(invoiceService.getAllInvoices());
     }
+
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
+    public ResponseEntity<KeysetPageDTO<InvoiceDTO>> getInvoicePage(
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "" + KeysetPageDTO.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(invoiceService.getInvoicePage(afterId, limit));
+    }
+
+    // Parts / labour / tax / grand totals for a customer, a vehicle and/or a [from, to) range
+    @GetMapping("/totals")
+    @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
+    public ResponseEntity<InvoiceTotalsDTO> getTotals(
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Long vehicleId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(invoiceService.getTotals(customerId, vehicleId, from, to));
+    }
+
+    // Streamed exports (csv or ndjson) for accounting; same optional filters as /totals
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
+    public ResponseEntity<StreamingResponseBody> exportInvoices(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        InvoiceExportService.Format f = InvoiceExportService.Format.parse(format);
+        return attachment("invoices", f, invoiceExportService.exportInvoices(f, customerId, from, to));
+    }
+
+    @GetMapping("/export/lines")
+    @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
+    public ResponseEntity<StreamingResponseBody> exportLines(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        InvoiceExportService.Format f = InvoiceExportService.Format.parse(format);
+        return attachment("invoice-lines", f, invoiceExportService.exportLines(f, customerId, from, to));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> attachment(String name, InvoiceExportService.Format format,
+                                                                    StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "." + format.extension + "\"")
+                .contentType(MediaType.parseMediaType(format.contentType + ";charset=UTF-8"))
+                .body(body);
+    }
 }
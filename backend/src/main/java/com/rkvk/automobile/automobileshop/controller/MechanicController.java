@@ -1,15 +1,20 @@
 package com.rkvk.automobile.automobileshop.controller;
 
 import com.rkvk.automobile.automobileshop.dto.MechanicDTO;
+import com.rkvk.automobile.automobileshop.dto.MechanicSuggestionDTO;
 import com.rkvk.automobile.automobileshop.entity.Mechanic;
 import com.rkvk.automobile.automobileshop.mapper.MechanicMapper;
 import com.rkvk.automobile.automobileshop.service.MechanicService;
+import com.rkvk.automobile.automobileshop.service.MechanicSkillService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/mechanics")
@@ -17,6 +22,7 @@ import java.util.List;
 public class MechanicController {
 
     private final MechanicService mechanicService;
+    private final MechanicSkillService mechanicSkillService;
 
     // ----- CREATE -----
     @PostMapping
@@ -61,4 +67,34 @@ public class MechanicController {
         return ResponseEntity.ok(mechanics);
     }
 
+    // ----- SKILLS (CanDo) -----
+    @GetMapping("/{id}/skills")
+    @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
+    public ResponseEntity<List<Long>> getSkills(@PathVariable Long id) {
+        return ResponseEntity.ok(mechanicSkillService.getSkills(id));
+    }
+
+    @PutMapping("/{id}/skills/{serviceId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<String> addSkill(@PathVariable Long id, @PathVariable Long serviceId) {
+        mechanicSkillService.addSkill(id, serviceId);
+        return ResponseEntity.ok("Skill added successfully");
+    }
+
+    @DeleteMapping("/{id}/skills/{serviceId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<String> removeSkill(@PathVariable Long id, @PathVariable Long serviceId) {
+        mechanicSkillService.removeSkill(id, serviceId);
+        return ResponseEntity.ok("Skill removed successfully");
+    }
+
+    // ----- ASSIGNMENT SUGGESTIONS -----
+    @GetMapping("/suggestions")
+    @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
+    public ResponseEntity<List<MechanicSuggestionDTO>> suggestMechanics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateTime,
+            @RequestParam Set<Long> serviceIds,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(mechanicSkillService.suggestMechanics(dateTime, serviceIds, limit));
+    }
 }
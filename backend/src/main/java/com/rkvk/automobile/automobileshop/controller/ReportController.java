@@ -0,0 +1,67 @@
+package com.rkvk.automobile.automobileshop.controller;
+
+import com.rkvk.automobile.automobileshop.dto.DailyRevenueDTO;
+import com.rkvk.automobile.automobileshop.dto.MechanicWorkloadDTO;
+import com.rkvk.automobile.automobileshop.dto.PartUsageReportDTO;
+import com.rkvk.automobile.automobileshop.dto.ServiceDemandDTO;
+import com.rkvk.automobile.automobileshop.service.ReportingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// All ranges are inclusive days (yyyy-MM-dd) answered from the daily rollup tables
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final ReportingService reportingService;
+
+    @GetMapping("/revenue")
+    @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
+    public ResponseEntity<List<DailyRevenueDTO>> getDailyRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(reportingService.getDailyRevenue(from, to));
+    }
+
+    @GetMapping("/parts/top")
+    @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
+    public ResponseEntity<List<PartUsageReportDTO>> getTopParts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(reportingService.getTopParts(from, to, limit));
+    }
+
+    @GetMapping("/mechanics/workload")
+    @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
+    public ResponseEntity<List<MechanicWorkloadDTO>> getMechanicWorkload(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(reportingService.getMechanicWorkload(from, to));
+    }
+
+    @GetMapping("/services/demand")
+    @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
+    public ResponseEntity<List<ServiceDemandDTO>> getServiceDemand(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(reportingService.getServiceDemand(from, to));
+    }
+
+    // Recompute the rollups for a range from invoices / appointments
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<String> rebuild(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        reportingService.rebuild(from, to);
+        return ResponseEntity.ok("Reports rebuilt from " + from + " to " + to);
+    }
+}
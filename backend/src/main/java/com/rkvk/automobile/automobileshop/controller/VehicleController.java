@@ -1,5 +1,6 @@
 package com.rkvk.automobile.automobileshop.controller;
 
+import com.rkvk.automobile.automobileshop.dto.KeysetPageDTO;
 import com.rkvk.automobile.automobileshop.dto.VehicleDTO;
 import com.rkvk.automobile.automobileshop.service.VehicleService;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +29,14 @@ public class VehicleController {
         return ResponseEntity.ok(vehicleService.getAllVehicles());
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPageDTO<VehicleDTO>> getVehiclePage(
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "" + KeysetPageDTO.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(vehicleService.getVehiclePage(afterId, limit));
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN','RECEPTIONIST')")
     @GetMapping("/{id}")
     public ResponseEntity<VehicleDTO> getVehicleById(@PathVariable Long id) {
@@ -19,6 +19,11 @@ public class AppointmentDTO {
     private Set<Long> serviceIds;
 
     private LocalDateTime dateTime;
+
+    // optional when booking: any free bay / no mechanic
+    private Integer bayNo;
+    private Long mechanicId;
+
     private LocalDateTime createdAt;
 
     private AppointmentStatus status;
@@ -0,0 +1,19 @@
+package com.rkvk.automobile.automobileshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheRegionStatsDTO {
+    private String region;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long elementCountInMemory;
+    private Long evictionCount; // null when the provider does not report evictions
+}
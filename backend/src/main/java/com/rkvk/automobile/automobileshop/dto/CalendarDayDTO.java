@@ -0,0 +1,20 @@
+package com.rkvk.automobile.automobileshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.List;
+
+// One calendar day, cached whole in the calendarDays cache
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalendarDayDTO implements Serializable {
+    private LocalDate date;
+    private List<CalendarEntryDTO> appointments;
+}
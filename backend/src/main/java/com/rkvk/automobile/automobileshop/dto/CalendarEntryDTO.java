@@ -0,0 +1,36 @@
+package com.rkvk.automobile.automobileshop.dto;
+
+import com.rkvk.automobile.automobileshop.entity.Appointment.AppointmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Everything a calendar card shows, so the front desk needs no follow-up lookups
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalendarEntryDTO implements Serializable {
+    private Long appointmentId;
+    private LocalDateTime dateTime;
+    private AppointmentStatus status;
+    private Integer bayNo;
+
+    private Long vehicleId;
+    private String registrationNo;
+    private String vehicleBrand;
+    private String vehicleModel;
+
+    private Long customerId;
+    private String customerName;
+
+    private Long mechanicId;
+    private String mechanicName;
+
+    private List<String> services;
+}
@@ -0,0 +1,18 @@
+package com.rkvk.automobile.automobileshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One customer of a bulk import with the vehicles to create for them; ids are ignored
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerImportDTO {
+    private CustomerDTO customer;
+    private List<VehicleDTO> vehicles;
+}
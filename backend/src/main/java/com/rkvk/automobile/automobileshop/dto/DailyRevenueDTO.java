@@ -0,0 +1,22 @@
+package com.rkvk.automobile.automobileshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// One day of invoice revenue from the report_daily_revenue rollup
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyRevenueDTO {
+    private LocalDate date;
+    private Long invoiceCount;
+    private Double partsRevenue;
+    private Double labourRevenue;
+    private Double taxAmount;
+    private Double grandTotal;
+}
@@ -0,0 +1,34 @@
+package com.rkvk.automobile.automobileshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a bulk import; only the first errors are listed, failed counts all of them
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportResultDTO {
+    private long rowsRead;
+    private long inserted;
+    private long updated;
+    private long failed;
+    // every row written, child rows included, and the rate over the whole request
+    private long rowsWritten;
+    private long elapsedMs;
+    private double rowsPerSecond;
+    @Builder.Default
+    private List<ImportRowErrorDTO> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    // Stamps elapsed time and throughput once the import is done
+    public void finish(long startedNanos) {
+        elapsedMs = (System.nanoTime() - startedNanos) / 1_000_000;
+        rowsPerSecond = elapsedMs > 0 ? Math.round(rowsWritten * 1000.0 / elapsedMs * 10.0) / 10.0 : rowsWritten;
+    }
+}
@@ -0,0 +1,17 @@
+package com.rkvk.automobile.automobileshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A rejected row of a bulk import; row is the 1-based data row (header not counted)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportRowErrorDTO {
+    private Long row;
+    private String key;
+    private String message;
+}
@@ -12,6 +12,7 @@ import lombok.NoArgsConstructor;
 public class InventoryDTO {
     private Long partId;
     private String name;
+    private String supplierSku;
     private Integer quantityAvailable;
     private Double unitPrice;
 }
@@ -1,6 +1,7 @@
 package com.rkvk.automobile.automobileshop.dto;
 
 import lombok.*;
+import java.time.LocalDateTime;
 import java.util.Set;
 
 @Data
@@ -12,6 +13,11 @@ public class InvoiceDTO {
     private Long appointmentId;
     private Double taxPercentage;
     private Double labourCost;
+    private LocalDateTime createdAt;
+    // server-computed; ignored on create/update
+    private Double partsSubtotal;
+    private Double taxAmount;
+    private Double grandTotal;
     private Set<UsedPartDTO> usedParts;
     private Set<MechanicDTO> mechanics;
 }
@@ -0,0 +1,19 @@
+package com.rkvk.automobile.automobileshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Aggregate of the stored invoice summaries matching a totals query
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InvoiceTotalsDTO {
+    private Long invoiceCount;
+    private Double partsSubtotal;
+    private Double labourTotal;
+    private Double taxAmount;
+    private Double grandTotal;
+}
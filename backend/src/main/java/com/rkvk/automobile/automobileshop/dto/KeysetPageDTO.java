@@ -0,0 +1,41 @@
+package com.rkvk.automobile.automobileshop.dto;
+
+import com.rkvk.automobile.automobileshop.exception.InvalidRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a primary-key ordered listing.
+ * Pass {@code nextAfterId} back as {@code afterId} to get the following page;
+ * it is null once the last page has been returned.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KeysetPageDTO<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private List<T> items;
+    private Long nextAfterId;
+    private int limit;
+
+    public static int checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new InvalidRequestException("limit must be positive");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public static <T> KeysetPageDTO<T> of(List<T> items, int limit, Function<T, Long> idOf) {
+        Long next = items.size() < limit ? null : idOf.apply(items.get(items.size() - 1));
+        return new KeysetPageDTO<>(items, next, limit);
+    }
+}
@@ -0,0 +1,23 @@
+package com.rkvk.automobile.automobileshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A mechanic able to do every requested service and free at the asked-for slot
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MechanicSuggestionDTO {
+    private Long mechanicId;
+    private String firstName;
+    private String lastName;
+
+    // appointments already booked with this mechanic that day
+    private Integer bookedThatDay;
+
+    // services the mechanic can do in total
+    private Integer skillCount;
+}
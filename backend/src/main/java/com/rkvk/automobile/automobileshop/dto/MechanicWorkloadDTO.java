@@ -0,0 +1,18 @@
+package com.rkvk.automobile.automobileshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Invoices a mechanic worked on over a report range
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MechanicWorkloadDTO {
+    private Long mechanicId;
+    private String firstName;
+    private String lastName;
+    private Long invoiceCount;
+}
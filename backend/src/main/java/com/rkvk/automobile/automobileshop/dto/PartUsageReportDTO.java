@@ -0,0 +1,18 @@
+package com.rkvk.automobile.automobileshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Units of a part used on invoices over a report range
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PartUsageReportDTO {
+    private Long partId;
+    private String name;
+    private Long quantity;
+    private Double revenue;
+}
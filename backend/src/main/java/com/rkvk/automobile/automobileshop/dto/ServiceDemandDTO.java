@@ -0,0 +1,17 @@
+package com.rkvk.automobile.automobileshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Appointments booked for a service over a report range
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ServiceDemandDTO {
+    private Long serviceId;
+    private String serviceName;
+    private Long appointmentCount;
+}
@@ -0,0 +1,24 @@
+package com.rkvk.automobile.automobileshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One appointment slot: which bays are still free, and whether the asked-for mechanic is
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlotAvailabilityDTO {
+    private LocalDateTime dateTime;
+    private List<Integer> freeBays;
+
+    // null when no mechanic was asked for
+    private Boolean mechanicFree;
+
+    private boolean free;
+}
@@ -7,7 +7,12 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "appointment")
+// Indexes mirror db/migration/V3__hot_query_indexes.sql
+@Table(name = "appointment", indexes = {
+        @Index(name = "idx_appointment_date_time", columnList = "date_time"),
+        @Index(name = "idx_appointment_created_at", columnList = "created_at"),
+        @Index(name = "idx_appointment_status_user", columnList = "status, user_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,16 +20,20 @@ import java.util.Set;
 public class Appointment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+    @SequenceGenerator(name = "appointment_seq", sequenceName = "appointment_seq", allocationSize = 50)
     @Column(name = "appointment_id")
     private Long appointmentId;
 
+    // FK names as in V2__pooled_ids_versions_and_rollups.sql; AppointmentService matches on them
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", referencedColumnName = "user_id", nullable = false)
+    @JoinColumn(name = "user_id", referencedColumnName = "user_id",
+            foreignKey = @ForeignKey(name = "fk_appointment_user"), nullable = false)
     private User user;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "vehicle_id", referencedColumnName = "vehicle_id", nullable = false)
+    @JoinColumn(name = "vehicle_id", referencedColumnName = "vehicle_id",
+            foreignKey = @ForeignKey(name = "fk_appointment_vehicle"), nullable = false)
     private Vehicle vehicle;
 
     @ManyToMany(fetch = FetchType.LAZY)
@@ -35,6 +44,15 @@ public class Appointment {
     )
     private Set<ServiceEntity> services = new HashSet<>();
 
+    // Assigned by SlotScheduler; null on appointments booked before bays existed
+    @Column(name = "bay_no")
+    private Integer bayNo;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "mechanic_id", referencedColumnName = "mechanic_id",
+            foreignKey = @ForeignKey(name = "fk_appointment_mechanic"))
+    private Mechanic mechanic;
+
     @Column(name = "date_time", nullable = false)
     private LocalDateTime dateTime;
 
@@ -7,15 +7,21 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "customer")
+@Table(name = "customer", indexes = {
+        @Index(name = "idx_customer_city", columnList = "city"),
+        @Index(name = "idx_customer_last_name", columnList = "last_name")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Customer {
 
+    // Pooled ids (blocks of 50, see IdSequenceAligner): IDENTITY would force one INSERT
+    // round trip per customer and rule out JDBC batching for bulk imports
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+    @SequenceGenerator(name = "customer_seq", sequenceName = "customer_seq", allocationSize = 50)
     @Column(name = "customer_id")
     private Long customerId;
 
@@ -0,0 +1,25 @@
+package com.rkvk.automobile.automobileshop.entity;
+
+import com.rkvk.automobile.automobileshop.entity.id.DailyMechanicLoadId;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Invoices each mechanic worked on per day.
+// Maintained incrementally by ReportingService; rebuildable from source tables.
+@Entity
+@Table(name = "report_daily_mechanic_load")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyMechanicLoad {
+
+    @EmbeddedId
+    private DailyMechanicLoadId id;
+
+    @Column(name = "invoice_count", nullable = false)
+    private Long invoiceCount;
+}
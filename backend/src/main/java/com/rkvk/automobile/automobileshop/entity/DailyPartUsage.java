@@ -0,0 +1,28 @@
+package com.rkvk.automobile.automobileshop.entity;
+
+import com.rkvk.automobile.automobileshop.entity.id.DailyPartUsageId;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Units of each part used on invoices per day, with their value at current unit price.
+// Maintained incrementally by ReportingService; rebuildable from source tables.
+@Entity
+@Table(name = "report_daily_part_usage")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyPartUsage {
+
+    @EmbeddedId
+    private DailyPartUsageId id;
+
+    @Column(name = "quantity", nullable = false)
+    private Long quantity;
+
+    @Column(name = "revenue", nullable = false)
+    private Double revenue;
+}
@@ -0,0 +1,40 @@
+package com.rkvk.automobile.automobileshop.entity;
+
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Invoice revenue per day of Invoice.createdAt.
+// Maintained incrementally by ReportingService; rebuildable from source tables.
+@Entity
+@Table(name = "report_daily_revenue")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyRevenue {
+
+    @Id
+    @Column(name = "report_date")
+    private LocalDate reportDate;
+
+    @Column(name = "invoice_count", nullable = false)
+    private Long invoiceCount;
+
+    @Column(name = "parts_revenue", nullable = false)
+    private Double partsRevenue;
+
+    @Column(name = "labour_revenue", nullable = false)
+    private Double labourRevenue;
+
+    @Column(name = "tax_amount", nullable = false)
+    private Double taxAmount;
+
+    @Column(name = "grand_total", nullable = false)
+    private Double grandTotal;
+}
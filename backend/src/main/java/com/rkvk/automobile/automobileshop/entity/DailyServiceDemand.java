@@ -0,0 +1,25 @@
+package com.rkvk.automobile.automobileshop.entity;
+
+import com.rkvk.automobile.automobileshop.entity.id.DailyServiceDemandId;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Appointments booked for each service per day of Appointment.dateTime.
+// Maintained incrementally by ReportingService; rebuildable from source tables.
+@Entity
+@Table(name = "report_daily_service_demand")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyServiceDemand {
+
+    @EmbeddedId
+    private DailyServiceDemandId id;
+
+    @Column(name = "appointment_count", nullable = false)
+    private Long appointmentCount;
+}
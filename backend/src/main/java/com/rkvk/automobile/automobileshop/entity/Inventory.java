@@ -3,12 +3,18 @@ package com.rkvk.automobile.automobileshop.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "inventory")
 @Table(name = "inventory")
+@BatchSize(size = 200) // Uses.part proxies that miss the cache load in batches
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,7 +26,8 @@ import java.util.Set;
 public class Inventory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_seq")
+    @SequenceGenerator(name = "inventory_seq", sequenceName = "inventory_seq", allocationSize = 50)
     @Column(name = "part_id")
     @EqualsAndHashCode.Include
     @ToString.Include
@@ -29,6 +36,10 @@ public class Inventory {
     @Column(name = "name")
     private String name;
 
+    // Supplier's catalog code; bulk imports match on it before falling back to name
+    @Column(name = "supplier_sku", length = 64, unique = true)
+    private String supplierSku;
+
     @Column(name = "quantity_available")
     private Integer quantityAvailable;
 
@@ -41,4 +52,8 @@ public class Inventory {
     @EqualsAndHashCode.Exclude
     @ToString.Exclude
     private Set<Uses> usedInInvoices = new HashSet<>();
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
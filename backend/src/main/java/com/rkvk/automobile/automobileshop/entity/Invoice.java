@@ -3,11 +3,23 @@ package com.rkvk.automobile.automobileshop.entity;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "invoice")
+// Index mirrors db/migration/V4__invoice_created_at_index.sql
+@Table(name = "invoice", indexes = @Index(name = "idx_invoice_created_at", columnList = "created_at"))
+// Everything InvoiceMapper.toDTO touches (the appointment id comes from the proxy)
+@NamedEntityGraph(
+        name = Invoice.DETAIL_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "usedParts", subgraph = "usedParts.part"),
+                @NamedAttributeNode("mechanics")
+        },
+        subgraphs = @NamedSubgraph(name = "usedParts.part", attributeNodes = @NamedAttributeNode("part"))
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,8 +30,11 @@ import java.util.Set;
 @ToString(onlyExplicitlyIncluded = true)
 public class Invoice {
 
+    public static final String DETAIL_GRAPH = "Invoice.detail";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoice_seq")
+    @SequenceGenerator(name = "invoice_seq", sequenceName = "invoice_seq", allocationSize = 50)
     @Column(name = "invoice_id")
     @EqualsAndHashCode.Include
     @ToString.Include
@@ -38,14 +53,31 @@ public class Invoice {
     @Column(name = "labour_cost")
     private Double labourCost;
 
+    // updatable so InvoiceTotalsBackfill can date rows written before this column existed
+    @Builder.Default
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Stored summary, recomputed by InvoiceService whenever lines, labour or tax change
+    @Column(name = "parts_subtotal")
+    private Double partsSubtotal;
+
+    @Column(name = "tax_amount")
+    private Double taxAmount;
+
+    @Column(name = "grand_total")
+    private Double grandTotal;
+
     @Builder.Default
     @OneToMany(mappedBy = "invoice", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 200) // list reads initialize up to 200 invoices' lines per query
     @EqualsAndHashCode.Exclude
     @ToString.Exclude
     private Set<Uses> usedParts = new HashSet<>();
 
     @Builder.Default
     @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 200)
     @JoinTable(
             name = "invoice_mechanic",
             joinColumns = @JoinColumn(name = "invoice_id"),
@@ -54,4 +86,8 @@ public class Invoice {
     @EqualsAndHashCode.Exclude
     @ToString.Exclude
     private Set<Mechanic> mechanics = new HashSet<>();
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
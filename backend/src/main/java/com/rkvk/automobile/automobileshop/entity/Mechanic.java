@@ -1,10 +1,17 @@
 package com.rkvk.automobile.automobileshop.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 
 @Entity
-@Table(name = "mechanic")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "mechanic")
+@Table(name = "mechanic", indexes = {
+        @Index(name = "idx_mechanic_city_pin_code", columnList = "city, pin_code"),
+        @Index(name = "idx_mechanic_pin_code", columnList = "pin_code")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,7 +22,8 @@ import lombok.*;
 public class Mechanic {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mechanic_seq")
+    @SequenceGenerator(name = "mechanic_seq", sequenceName = "mechanic_seq", allocationSize = 50)
     @Column(name = "mechanic_id")
     @EqualsAndHashCode.Include
     @ToString.Include
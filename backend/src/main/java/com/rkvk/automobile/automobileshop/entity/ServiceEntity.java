@@ -1,12 +1,16 @@
 package com.rkvk.automobile.automobileshop.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "service")
 @Table(name = "service")
 @Data
 @NoArgsConstructor
@@ -15,7 +19,8 @@ import lombok.NoArgsConstructor;
 public class ServiceEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_seq")
+    @SequenceGenerator(name = "service_seq", sequenceName = "service_seq", allocationSize = 50)
     @Column(name = "service_id")
     private Long serviceId;
 
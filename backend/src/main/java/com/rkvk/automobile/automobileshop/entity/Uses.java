@@ -39,4 +39,8 @@ public class Uses {
 
     @Column(name = "count")
     private Integer count;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
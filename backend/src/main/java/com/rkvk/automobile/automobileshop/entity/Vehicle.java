@@ -7,7 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "vehicle")
+@Table(name = "vehicle", indexes = @Index(name = "idx_vehicle_registration_no", columnList = "registration_no"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,7 +15,8 @@ import lombok.NoArgsConstructor;
 public class Vehicle {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicle_seq")
+    @SequenceGenerator(name = "vehicle_seq", sequenceName = "vehicle_seq", allocationSize = 50)
     @Column(name = "vehicle_id")
     private Long vehicleId;
 
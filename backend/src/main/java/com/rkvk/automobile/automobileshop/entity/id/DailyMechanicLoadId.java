@@ -0,0 +1,22 @@
+package com.rkvk.automobile.automobileshop.entity.id;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyMechanicLoadId implements Serializable {
+    @Column(name = "report_date")
+    private LocalDate reportDate;
+
+    @Column(name = "mechanic_id")
+    private Long mechanicId;
+}
@@ -1,5 +1,6 @@
 package com.rkvk.automobile.automobileshop.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -51,6 +52,12 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.CONFLICT, ex.getMessage());
     }
 
+    // a concurrent writer won and the retry budget ran out
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleConcurrentUpdate(OptimisticLockingFailureException ex) {
+        return buildResponse(HttpStatus.CONFLICT, "The record was modified concurrently, please retry");
+    }
+
     // fallback handler
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleOtherExceptions(Exception ex) {
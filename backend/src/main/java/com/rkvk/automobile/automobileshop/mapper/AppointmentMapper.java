@@ -21,12 +21,15 @@ public class AppointmentMapper {
                         .collect(Collectors.toSet())
                         : null)
                 .dateTime(entity.getDateTime())
+                .bayNo(entity.getBayNo())
+                .mechanicId(entity.getMechanic() != null ? entity.getMechanic().getMechanicId() : null)
                 .createdAt(entity.getCreatedAt())
                 .status(entity.getStatus())
                 .build();
     }
 
-    public static Appointment toEntity(AppointmentDTO dto, User user, Vehicle vehicle, Set<ServiceEntity> services) {
+    public static Appointment toEntity(AppointmentDTO dto, User user, Vehicle vehicle, Set<ServiceEntity> services,
+                                       Mechanic mechanic) {
         if (dto == null) return null;
 
         return Appointment.builder()
@@ -35,6 +38,8 @@ public class AppointmentMapper {
                 .vehicle(vehicle)
                 .services(services)
                 .dateTime(dto.getDateTime())
+                .bayNo(dto.getBayNo())
+                .mechanic(mechanic)
                 .createdAt(dto.getCreatedAt() != null ? dto.getCreatedAt() : LocalDateTime.now())
                 .status(dto.getStatus() != null ? dto.getStatus() : Appointment.AppointmentStatus.BOOKED)
                 .build();
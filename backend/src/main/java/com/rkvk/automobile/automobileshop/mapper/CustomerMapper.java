@@ -8,6 +8,7 @@ import com.rkvk.automobile.automobileshop.entity.id.CustomerEmailId;
 import com.rkvk.automobile.automobileshop.entity.id.CustomerMiddleNameId;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
@@ -88,4 +89,25 @@ public class CustomerMapper {
 
         return dto;
     }
+
+    // Maps only the scalar columns and takes pre-loaded child values,
+    // so the lazy middleNames/emails collections are never initialized
+    public CustomerDTO entityToDto(Customer customer, List<String> middleNames, List<String> emails) {
+        if (customer == null) {
+            return null;
+        }
+
+        CustomerDTO dto = new CustomerDTO();
+        dto.setCustomerId(customer.getCustomerId());
+        dto.setFirstName(customer.getFirstName());
+        dto.setLastName(customer.getLastName());
+        dto.setHouseNo(customer.getHouseNo());
+        dto.setStreet(customer.getStreet());
+        dto.setLocality(customer.getLocality());
+        dto.setCity(customer.getCity());
+        dto.setPinCode(customer.getPinCode());
+        dto.setMiddleNames(middleNames);
+        dto.setEmails(emails);
+        return dto;
+    }
 }
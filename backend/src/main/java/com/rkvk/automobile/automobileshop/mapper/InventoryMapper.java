@@ -11,6 +11,7 @@ public class InventoryMapper {
         return InventoryDTO.builder()
                 .partId(entity.getPartId())
                 .name(entity.getName())
+                .supplierSku(entity.getSupplierSku())
                 .quantityAvailable(entity.getQuantityAvailable())
                 .unitPrice(entity.getUnitPrice())
                 .build();
@@ -22,6 +23,7 @@ public class InventoryMapper {
         return Inventory.builder()
                 .partId(dto.getPartId())
                 .name(dto.getName())
+                .supplierSku(dto.getSupplierSku())
                 .quantityAvailable(dto.getQuantityAvailable())
                 .unitPrice(dto.getUnitPrice())
                 .build();
@@ -17,6 +17,10 @@ public class InvoiceMapper {
                 .appointmentId(invoice.getAppointment() != null ? invoice.getAppointment().getAppointmentId() : null)
                 .taxPercentage(invoice.getTaxPercentage())
                 .labourCost(invoice.getLabourCost())
+                .createdAt(invoice.getCreatedAt())
+                .partsSubtotal(invoice.getPartsSubtotal())
+                .taxAmount(invoice.getTaxAmount())
+                .grandTotal(invoice.getGrandTotal())
                 .usedParts(toUsedPartDTOs(invoice.getUsedParts()))
                 .mechanics(toMechanicDTOs(invoice.getMechanics()))
                 .build();
@@ -0,0 +1,116 @@
+package com.rkvk.automobile.automobileshop.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Opens a SqlStatementCounter scope around each HTTP request. After the request it
+ * records app.http.sql.statements per endpoint, and it logs a warning when the request
+ * ran more than app.sql.query-count.warn-threshold statements or repeated one statement
+ * shape more than app.sql.query-count.repeat-threshold times.
+ * With app.sql.query-count.strict=true the request fails instead, so tests catch regressions:
+ * responses with a body fail in SqlStatementCountHeaderAdvice, before anything is
+ * committed, and the rest fail here.
+ * Runs ahead of Spring Security so principal lookups are counted too.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "X-SQL-Query-Count";
+
+    private final boolean enabled;
+    private final int warnThreshold;
+    private final int repeatThreshold;
+    private final boolean strict;
+
+    public SqlStatementCountFilter(
+            @Value("${app.sql.query-count.enabled:true}") boolean enabled,
+            @Value("${app.sql.query-count.warn-threshold:25}") int warnThreshold,
+            @Value("${app.sql.query-count.repeat-threshold:5}") int repeatThreshold,
+            @Value("${app.sql.query-count.strict:false}") boolean strict) {
+        this.enabled = enabled;
+        this.warnThreshold = warnThreshold;
+        this.repeatThreshold = repeatThreshold;
+        this.strict = strict;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        SqlStatementCounter.Stats stats = SqlStatementCounter.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.end();
+        }
+
+        // bodies written via SqlStatementCountHeaderAdvice already carry the header
+        if (!response.isCommitted()) {
+            response.setHeader(HEADER, String.valueOf(stats.total()));
+        }
+
+        String endpoint = endpoint(request);
+        DistributionSummary.builder("app.http.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", endpoint)
+                .register(Metrics.globalRegistry)
+                .record(stats.total());
+
+        check(request, stats, response.isCommitted());
+    }
+
+    // Strict mode only: called just before a response body is written
+    void checkBeforeBody(HttpServletRequest request, SqlStatementCounter.Stats stats) {
+        if (strict) {
+            check(request, stats, false);
+        }
+    }
+
+    // Each request is checked once, by whichever of the advice and the filter gets there first
+    private void check(HttpServletRequest request, SqlStatementCounter.Stats stats, boolean committed) {
+        if (!stats.markChecked()) return;
+
+        String endpoint = request.getMethod() + " " + endpoint(request);
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        String problem = null;
+        if (repeated != null && repeated.getValue() > repeatThreshold) {
+            problem = String.format("possible N+1: %d executions of [%s]", repeated.getValue(), repeated.getKey());
+        } else if (stats.total() > warnThreshold) {
+            problem = String.format("%d SQL statements (threshold %d)", stats.total(), warnThreshold);
+        }
+        if (problem == null) return;
+
+        if (strict && !committed) {
+            throw new IllegalStateException(endpoint + ": " + problem);
+        }
+        log.warn("{} ran {} SQL statements, {}", endpoint, stats.total(), problem);
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,42 @@
+package com.rkvk.automobile.automobileshop.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Sets X-SQL-Query-Count just before a response body is written; the filter cannot,
+ * because by then the response is committed. The value is the count up to that point.
+ * In strict mode this is also where the request fails, while an error status can still be sent.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class SqlStatementCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    private final SqlStatementCountFilter filter;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStatementCounter.Stats stats = SqlStatementCounter.current();
+        if (stats != null) {
+            response.getHeaders().set(SqlStatementCountFilter.HEADER, String.valueOf(stats.total()));
+            if (request instanceof ServletServerHttpRequest servletRequest) {
+                filter.checkBeforeBody(servletRequest.getServletRequest(), stats);
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,73 @@
+package com.rkvk.automobile.automobileshop.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Hibernate StatementInspector that counts every SQL statement prepared on the current
+ * thread while a request scope is open (see SqlStatementCountFilter). Statements are also
+ * grouped by shape, with IN-lists collapsed, so one query repeated per row shows up as
+ * a single high count: the N+1 signature.
+ * Registered through hibernate.session_factory.statement_inspector; Hibernate creates it
+ * by reflection, hence the static thread-local state.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+
+    @Override
+    public String inspect(String sql) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.record(sql);
+        }
+        return sql;
+    }
+
+    static Stats begin() {
+        Stats stats = new Stats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static Stats current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static final class Stats {
+        private int total;
+        private boolean checked;
+        private final Map<String, Integer> byShape = new HashMap<>();
+
+        private void record(String sql) {
+            total++;
+            byShape.merge(IN_LIST.matcher(sql).replaceAll("(?)"), 1, Integer::sum);
+        }
+
+        // true on the first call only
+        boolean markChecked() {
+            boolean first = !checked;
+            checked = true;
+            return first;
+        }
+
+        int total() {
+            return total;
+        }
+
+        // most repeated statement shape, or null when nothing ran
+        Map.Entry<String, Integer> mostRepeated() {
+            return byShape.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .orElse(null);
+        }
+    }
+}
@@ -2,11 +2,16 @@ package com.rkvk.automobile.automobileshop.repository;
 
 import com.rkvk.automobile.automobileshop.entity.Appointment;
 import com.rkvk.automobile.automobileshop.entity.Appointment.AppointmentStatus;
+import com.rkvk.automobile.automobileshop.repository.projection.AppointmentRow;
+import com.rkvk.automobile.automobileshop.repository.projection.AppointmentServiceRow;
+import com.rkvk.automobile.automobileshop.repository.projection.CalendarRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -25,4 +30,59 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     List<Appointment> findByStatus(AppointmentStatus status);
     List<Appointment> findByUser_UserIdAndStatus(Long userId, AppointmentStatus status);
     List<Appointment> findByVehicle_VehicleIdAndStatus(Long vehicleId, AppointmentStatus status);
+
+    // ---- Read-only projections for list endpoints: exactly the AppointmentDTO columns,
+    // ---- no managed entities. Service ids come from findServiceIdsFor in one extra query.
+
+    String ROW_SELECT = "SELECT a.appointmentId AS appointmentId, a.user.userId AS userId, " +
+            "a.vehicle.vehicleId AS vehicleId, a.dateTime AS dateTime, " +
+            "a.bayNo AS bayNo, m.mechanicId AS mechanicId, " +
+            "a.createdAt AS createdAt, a.status AS status FROM Appointment a LEFT JOIN a.mechanic m ";
+
+    @Query(ROW_SELECT + "ORDER BY a.appointmentId")
+    List<AppointmentRow> findAllRows();
+
+    // Keyset page: rows after the given id, in primary-key order
+    @Query(ROW_SELECT + "WHERE a.appointmentId > :afterId ORDER BY a.appointmentId")
+    List<AppointmentRow> findRowsAfter(Long afterId, Limit limit);
+
+    @Query(ROW_SELECT + "WHERE a.user.userId = :userId ORDER BY a.appointmentId")
+    List<AppointmentRow> findRowsByUserId(Long userId);
+
+    @Query(ROW_SELECT + "WHERE a.vehicle.vehicleId = :vehicleId ORDER BY a.appointmentId")
+    List<AppointmentRow> findRowsByVehicleId(Long vehicleId);
+
+    @Query(ROW_SELECT + "JOIN a.services s WHERE s.serviceId = :serviceId ORDER BY a.appointmentId")
+    List<AppointmentRow> findRowsByServiceId(Long serviceId);
+
+    @Query(ROW_SELECT + "WHERE a.createdAt BETWEEN :start AND :end ORDER BY a.appointmentId")
+    List<AppointmentRow> findRowsByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    @Query(ROW_SELECT + "WHERE a.dateTime BETWEEN :start AND :end ORDER BY a.appointmentId")
+    List<AppointmentRow> findRowsByDateTimeBetween(LocalDateTime start, LocalDateTime end);
+
+    // Slot index bootstrap: every appointment from a day on that still holds its slot
+    @Query(ROW_SELECT + "WHERE a.dateTime >= :from AND a.status <> :excluded ORDER BY a.dateTime, a.appointmentId")
+    List<AppointmentRow> findRowsScheduledFromExcludingStatus(LocalDateTime from, AppointmentStatus excluded);
+
+    @Query(ROW_SELECT + "WHERE a.status = :status ORDER BY a.appointmentId")
+    List<AppointmentRow> findRowsByStatus(AppointmentStatus status);
+
+    @Query(ROW_SELECT + "WHERE a.user.userId = :userId AND a.status = :status ORDER BY a.appointmentId")
+    List<AppointmentRow> findRowsByUserIdAndStatus(Long userId, AppointmentStatus status);
+
+    // Calendar cards in one query: a row per appointment and service, [start, end)
+    @Query("SELECT a.appointmentId AS appointmentId, a.dateTime AS dateTime, a.status AS status, a.bayNo AS bayNo, " +
+           "v.vehicleId AS vehicleId, v.registrationNo AS registrationNo, v.brand AS brand, v.model AS model, " +
+           "c.customerId AS customerId, c.firstName AS customerFirstName, c.lastName AS customerLastName, " +
+           "m.mechanicId AS mechanicId, m.firstName AS mechanicFirstName, m.lastName AS mechanicLastName, " +
+           "s.serviceName AS serviceName " +
+           "FROM Appointment a JOIN a.vehicle v LEFT JOIN v.customer c LEFT JOIN a.mechanic m LEFT JOIN a.services s " +
+           "WHERE a.dateTime >= :start AND a.dateTime < :end " +
+           "ORDER BY a.dateTime, a.appointmentId, s.serviceName")
+    List<CalendarRow> findCalendarRows(LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT a.appointmentId AS appointmentId, s.serviceId AS serviceId " +
+           "FROM Appointment a JOIN a.services s WHERE a.appointmentId IN :appointmentIds")
+    List<AppointmentServiceRow> findServiceIdsFor(Collection<Long> appointmentIds);
 }
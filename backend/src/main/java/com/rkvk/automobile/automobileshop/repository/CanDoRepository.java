@@ -3,8 +3,18 @@ package com.rkvk.automobile.automobileshop.repository;
 import com.rkvk.automobile.automobileshop.entity.CanDo;
 import com.rkvk.automobile.automobileshop.entity.id.CanDoId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CanDoRepository extends JpaRepository<CanDo, CanDoId> {
+
+    // Whole mechanic/service relation as key pairs, for MechanicSkillIndex
+    @Query("SELECT c.id FROM CanDo c")
+    List<CanDoId> findAllIds();
+
+    @Query("SELECT c.id.serviceId FROM CanDo c WHERE c.id.mechanicId = :mechanicId ORDER BY c.id.serviceId")
+    List<Long> findServiceIdsByMechanicId(Long mechanicId);
 }
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,4 +18,7 @@ public interface CustomerEmailRepository extends JpaRepository<CustomerEmail, Cu
     List<CustomerEmail> findByCustomerId(@Param("customerId") Long customerId);
 
     List<CustomerEmail> findByIdCustomerId(Long customerId);
+
+    // Set-based load for a page of customers (one query instead of one per customer)
+    List<CustomerEmail> findByIdCustomerIdIn(Collection<Long> customerIds);
 }
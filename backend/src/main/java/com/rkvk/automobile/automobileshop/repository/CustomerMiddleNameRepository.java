@@ -5,9 +5,13 @@ import com.rkvk.automobile.automobileshop.entity.id.CustomerMiddleNameId;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CustomerMiddleNameRepository extends JpaRepository<CustomerMiddleName, CustomerMiddleNameId> {
     List<CustomerMiddleName> findByIdCustomerId(Long customerId);
+
+    // Set-based load for a page of customers (one query instead of one per customer)
+    List<CustomerMiddleName> findByIdCustomerIdInOrderByMiddleNameOrderAsc(Collection<Long> customerIds);
 }
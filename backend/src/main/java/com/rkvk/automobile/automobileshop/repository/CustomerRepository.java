@@ -1,6 +1,7 @@
 package com.rkvk.automobile.automobileshop.repository;
 
 import com.rkvk.automobile.automobileshop.entity.Customer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,6 +17,9 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     List<Customer> findByCity(String city);
 
+    // Keyset page: rows after the given id, in primary-key order
+    List<Customer> findByCustomerIdGreaterThanOrderByCustomerIdAsc(Long afterId, Limit limit);
+
     @Query("""
            SELECT c FROM Customer c
            JOIN CustomerEmail e ON c.customerId = e.id.customerId
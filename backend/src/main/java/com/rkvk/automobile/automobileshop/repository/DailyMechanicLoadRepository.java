@@ -0,0 +1,27 @@
+package com.rkvk.automobile.automobileshop.repository;
+
+import com.rkvk.automobile.automobileshop.dto.MechanicWorkloadDTO;
+import com.rkvk.automobile.automobileshop.entity.DailyMechanicLoad;
+import com.rkvk.automobile.automobileshop.entity.id.DailyMechanicLoadId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyMechanicLoadRepository extends JpaRepository<DailyMechanicLoad, DailyMechanicLoadId> {
+
+    @Query("""
+           SELECT new com.rkvk.automobile.automobileshop.dto.MechanicWorkloadDTO(
+                  l.id.mechanicId, m.firstName, m.lastName, SUM(l.invoiceCount))
+           FROM DailyMechanicLoad l
+           LEFT JOIN Mechanic m ON m.mechanicId = l.id.mechanicId
+           WHERE l.id.reportDate BETWEEN :from AND :to
+           GROUP BY l.id.mechanicId, m.firstName, m.lastName
+           HAVING SUM(l.invoiceCount) > 0
+           ORDER BY SUM(l.invoiceCount) DESC, l.id.mechanicId
+           """)
+    List<MechanicWorkloadDTO> findWorkload(LocalDate from, LocalDate to);
+}
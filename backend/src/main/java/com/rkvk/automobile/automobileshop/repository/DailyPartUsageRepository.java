@@ -0,0 +1,29 @@
+package com.rkvk.automobile.automobileshop.repository;
+
+import com.rkvk.automobile.automobileshop.dto.PartUsageReportDTO;
+import com.rkvk.automobile.automobileshop.entity.DailyPartUsage;
+import com.rkvk.automobile.automobileshop.entity.id.DailyPartUsageId;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyPartUsageRepository extends JpaRepository<DailyPartUsage, DailyPartUsageId> {
+
+    // Most used parts first; a part deleted since keeps its usage with a null name until its range is rebuilt
+    @Query("""
+           SELECT new com.rkvk.automobile.automobileshop.dto.PartUsageReportDTO(
+                  u.id.partId, p.name, SUM(u.quantity), SUM(u.revenue))
+           FROM DailyPartUsage u
+           LEFT JOIN Inventory p ON p.partId = u.id.partId
+           WHERE u.id.reportDate BETWEEN :from AND :to
+           GROUP BY u.id.partId, p.name
+           HAVING SUM(u.quantity) > 0
+           ORDER BY SUM(u.quantity) DESC, u.id.partId
+           """)
+    List<PartUsageReportDTO> findTopParts(LocalDate from, LocalDate to, Limit limit);
+}
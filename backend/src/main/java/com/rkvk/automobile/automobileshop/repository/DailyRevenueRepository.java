@@ -0,0 +1,24 @@
+package com.rkvk.automobile.automobileshop.repository;
+
+import com.rkvk.automobile.automobileshop.dto.DailyRevenueDTO;
+import com.rkvk.automobile.automobileshop.entity.DailyRevenue;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyRevenueRepository extends JpaRepository<DailyRevenue, LocalDate> {
+
+    // Days without invoices have no row
+    @Query("""
+           SELECT new com.rkvk.automobile.automobileshop.dto.DailyRevenueDTO(
+                  r.reportDate, r.invoiceCount, r.partsRevenue, r.labourRevenue, r.taxAmount, r.grandTotal)
+           FROM DailyRevenue r
+           WHERE r.reportDate BETWEEN :from AND :to
+           ORDER BY r.reportDate
+           """)
+    List<DailyRevenueDTO> findDaily(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,27 @@
+package com.rkvk.automobile.automobileshop.repository;
+
+import com.rkvk.automobile.automobileshop.dto.ServiceDemandDTO;
+import com.rkvk.automobile.automobileshop.entity.DailyServiceDemand;
+import com.rkvk.automobile.automobileshop.entity.id.DailyServiceDemandId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyServiceDemandRepository extends JpaRepository<DailyServiceDemand, DailyServiceDemandId> {
+
+    @Query("""
+           SELECT new com.rkvk.automobile.automobileshop.dto.ServiceDemandDTO(
+                  d.id.serviceId, s.serviceName, SUM(d.appointmentCount))
+           FROM DailyServiceDemand d
+           LEFT JOIN ServiceEntity s ON s.serviceId = d.id.serviceId
+           WHERE d.id.reportDate BETWEEN :from AND :to
+           GROUP BY d.id.serviceId, s.serviceName
+           HAVING SUM(d.appointmentCount) > 0
+           ORDER BY SUM(d.appointmentCount) DESC, d.id.serviceId
+           """)
+    List<ServiceDemandDTO> findDemand(LocalDate from, LocalDate to);
+}
@@ -1,21 +1,28 @@
 package com.rkvk.automobile.automobileshop.repository;
 
+import com.rkvk.automobile.automobileshop.dto.InventoryDTO;
 import com.rkvk.automobile.automobileshop.entity.Inventory;
+import com.rkvk.automobile.automobileshop.repository.projection.InventoryKeyRow;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
 
-@Repository
-public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+import java.util.Collection;
+import java.util.List;
 
-    @Modifying
-    @Transactional
-    @Query("UPDATE Inventory i SET i.quantityAvailable = i.quantityAvailable - :count WHERE i.partId = :partId")
-    void decreaseStock(Long partId, int count);
+@Repository
+public interface InventoryRepository extends JpaRepository<Inventory, Long>, InventoryRepositoryCustom {
 
     @Query("SELECT i.quantityAvailable FROM Inventory i WHERE i.partId = :partId")
     Integer findStockByPartId(Long partId);
-}
 
+    // Read-only listing straight into the DTO: no managed entities, no cache puts
+    @Query("SELECT new com.rkvk.automobile.automobileshop.dto.InventoryDTO(" +
+           "i.partId, i.name, i.supplierSku, i.quantityAvailable, i.unitPrice) FROM Inventory i ORDER BY i.partId")
+    List<InventoryDTO> findAllDtos();
+
+    // Key lookups for bulk imports, one query per chunk of rows
+    List<InventoryKeyRow> findBySupplierSkuIn(Collection<String> supplierSkus);
+
+    List<InventoryKeyRow> findByNameInOrderByPartId(Collection<String> names);
+}
@@ -0,0 +1,22 @@
+package com.rkvk.automobile.automobileshop.repository;
+
+import java.util.Map;
+
+public interface InventoryRepositoryCustom {
+
+    // Single-statement decrement that refuses to go below zero; returns 0 when the
+    // part does not exist or does not have :count units available
+    int decreaseStock(Long partId, int count);
+
+    int increaseStock(Long partId, int count);
+
+    /**
+     * Guarded decrement of several parts in one UPDATE statement.
+     * Returns the number of rows changed; a result smaller than the map size means
+     * at least one part is missing or short of stock (the caller must roll back).
+     */
+    int decreaseStockAll(Map<Long, Integer> countsByPartId);
+
+    // Increment of several parts in one UPDATE statement; returns rows changed
+    int increaseStockAll(Map<Long, Integer> countsByPartId);
+}
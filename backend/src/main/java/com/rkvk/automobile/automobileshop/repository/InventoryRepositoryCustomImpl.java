@@ -0,0 +1,105 @@
+package com.rkvk.automobile.automobileshop.repository;
+
+import com.rkvk.automobile.automobileshop.entity.Inventory;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Stock changes are native UPDATEs with an empty query space. A JPQL bulk update
+ * (or an unsynchronized native one) makes Hibernate drop the whole Inventory
+ * second-level cache region on every invoice, so the part catalog would never stay
+ * warm. Instead only the rows we touched are evicted, now and again after commit
+ * so a reader that raced the transaction cannot leave a stale entry behind.
+ */
+public class InventoryRepositoryCustomImpl implements InventoryRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int decreaseStock(Long partId, int count) {
+        return decreaseStockAll(Map.of(partId, count));
+    }
+
+    @Override
+    @Transactional
+    public int increaseStock(Long partId, int count) {
+        return increaseStockAll(Map.of(partId, count));
+    }
+
+    @Override
+    @Transactional
+    public int decreaseStockAll(Map<Long, Integer> countsByPartId) {
+        if (countsByPartId.isEmpty()) return 0;
+        String delta = caseByPartId(countsByPartId.size());
+        Query query = nativeUpdate(
+                "UPDATE inventory SET quantity_available = quantity_available - " + delta +
+                ", version = version + 1 " +
+                "WHERE part_id IN (:ids) AND quantity_available >= " + delta);
+        return execute(query, countsByPartId);
+    }
+
+    @Override
+    @Transactional
+    public int increaseStockAll(Map<Long, Integer> countsByPartId) {
+        if (countsByPartId.isEmpty()) return 0;
+        String delta = caseByPartId(countsByPartId.size());
+        Query query = nativeUpdate(
+                "UPDATE inventory SET quantity_available = quantity_available + " + delta +
+                ", version = version + 1 " +
+                "WHERE part_id IN (:ids)");
+        return execute(query, countsByPartId);
+    }
+
+    private Query nativeUpdate(String sql) {
+        Query query = entityManager.createNativeQuery(sql);
+        // empty query space: Hibernate leaves the cache regions alone, see evict()
+        query.unwrap(NativeQuery.class).addSynchronizedQuerySpace("");
+        return query;
+    }
+
+    // CASE part_id WHEN :p0 THEN :c0 WHEN :p1 THEN :c1 ... ELSE 0 END
+    private static String caseByPartId(int size) {
+        StringBuilder sb = new StringBuilder("(CASE part_id");
+        for (int n = 0; n < size; n++) {
+            sb.append(" WHEN :p").append(n).append(" THEN :c").append(n);
+        }
+        return sb.append(" ELSE 0 END)").toString();
+    }
+
+    private int execute(Query query, Map<Long, Integer> countsByPartId) {
+        int n = 0;
+        for (Map.Entry<Long, Integer> e : countsByPartId.entrySet()) {
+            query.setParameter("p" + n, e.getKey());
+            query.setParameter("c" + n, e.getValue());
+            n++;
+        }
+        int updated = query.setParameter("ids", countsByPartId.keySet()).executeUpdate();
+        evict(List.copyOf(countsByPartId.keySet()));
+        return updated;
+    }
+
+    private void evict(List<Long> partIds) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        partIds.forEach(id -> cache.evict(Inventory.class, id));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    partIds.forEach(id -> cache.evict(Inventory.class, id));
+                }
+            });
+        }
+    }
+}
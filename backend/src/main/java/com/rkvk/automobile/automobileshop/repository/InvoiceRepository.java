@@ -1,6 +1,8 @@
 package com.rkvk.automobile.automobileshop.repository;
 
 import com.rkvk.automobile.automobileshop.entity.Invoice;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,12 +12,22 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
+public interface InvoiceRepository extends JpaRepository<Invoice, Long>, InvoiceRepositoryCustom {
 
     Optional<Invoice> findByAppointment_AppointmentId(Long appointmentId);
 
+    // Invoice with its lines, their parts and the mechanics in a single select
+    @EntityGraph(Invoice.DETAIL_GRAPH)
+    Optional<Invoice> findWithDetailsByInvoiceId(Long invoiceId);
+
+    @EntityGraph(Invoice.DETAIL_GRAPH)
+    Optional<Invoice> findWithDetailsByAppointment_AppointmentId(Long appointmentId);
+
     boolean existsByAppointment_AppointmentId(Long appointmentId);
 
+    // Keyset page: rows after the given id, in primary-key order
+    List<Invoice> findByInvoiceIdGreaterThanOrderByInvoiceIdAsc(Long afterId, Limit limit);
+
     @Query("""
            SELECT i 
            FROM Invoice i
@@ -38,4 +50,6 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
            """)
     List<Invoice> findAllByVehicleId(@Param("vehicleId") Long vehicleId);
 
+    @Query("SELECT i.invoiceId FROM Invoice i WHERE i.grandTotal IS NULL ORDER BY i.invoiceId")
+    List<Long> findIdsWithoutTotals(Limit limit);
 }
@@ -0,0 +1,11 @@
+package com.rkvk.automobile.automobileshop.repository;
+
+import com.rkvk.automobile.automobileshop.dto.InvoiceTotalsDTO;
+
+import java.time.LocalDateTime;
+
+public interface InvoiceRepositoryCustom {
+
+    // Totals over the stored summaries; every filter is optional (null = no filter)
+    InvoiceTotalsDTO sumTotals(Long customerId, Long vehicleId, LocalDateTime from, LocalDateTime to);
+}
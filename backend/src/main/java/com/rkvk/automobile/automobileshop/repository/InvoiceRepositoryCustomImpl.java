@@ -0,0 +1,62 @@
+package com.rkvk.automobile.automobileshop.repository;
+
+import com.rkvk.automobile.automobileshop.dto.InvoiceTotalsDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * The WHERE clause holds only the filters that are present (no ":p IS NULL OR ..."
+ * catch-alls), so the optimizer can use the created_at and foreign-key indexes,
+ * and appointment / vehicle are joined only when a filter needs them.
+ */
+public class InvoiceRepositoryCustomImpl implements InvoiceRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public InvoiceTotalsDTO sumTotals(Long customerId, Long vehicleId, LocalDateTime from, LocalDateTime to) {
+        StringBuilder jpql = new StringBuilder("""
+                SELECT new com.rkvk.automobile.automobileshop.dto.InvoiceTotalsDTO(
+                       COUNT(i),
+                       COALESCE(SUM(i.partsSubtotal), 0.0),
+                       COALESCE(SUM(i.labourCost), 0.0),
+                       COALESCE(SUM(i.taxAmount), 0.0),
+                       COALESCE(SUM(i.grandTotal), 0.0))
+                FROM Invoice i""");
+        if (customerId != null || vehicleId != null) {
+            jpql.append(" JOIN i.appointment a");
+        }
+        if (customerId != null) {
+            jpql.append(" JOIN a.vehicle v");
+        }
+        jpql.append(" WHERE 1 = 1");
+
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (customerId != null) {
+            jpql.append(" AND v.customer.customerId = :customerId");
+            params.put("customerId", customerId);
+        }
+        if (vehicleId != null) {
+            jpql.append(" AND a.vehicle.vehicleId = :vehicleId");
+            params.put("vehicleId", vehicleId);
+        }
+        if (from != null) {
+            jpql.append(" AND i.createdAt >= :from");
+            params.put("from", from);
+        }
+        if (to != null) {
+            jpql.append(" AND i.createdAt < :to");
+            params.put("to", to);
+        }
+
+        TypedQuery<InvoiceTotalsDTO> query = entityManager.createQuery(jpql.toString(), InvoiceTotalsDTO.class);
+        params.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+}
@@ -1,7 +1,10 @@
 package com.rkvk.automobile.automobileshop.repository;
 
 import com.rkvk.automobile.automobileshop.entity.Mechanic;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,6 +12,11 @@ import java.util.List;
 @Repository
 public interface MechanicRepository extends JpaRepository<Mechanic, Long> {
 
+    // Served from the query cache; invalidated whenever the mechanic table changes
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Mechanic> findAll();
+
     List<Mechanic> findByCity(String city);
 
     List<Mechanic> findByPinCode(String pinCode);
@@ -0,0 +1,32 @@
+package com.rkvk.automobile.automobileshop.repository;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+// Incremental writes to the report_daily_* rollup tables. Every add* is an upsert
+// that adds the (possibly negative) delta to the day's row, so concurrent writers
+// never read-modify-write the same row.
+public interface ReportRollupWriter {
+
+    record PartDelta(long quantity, double revenue) {}
+
+    void addRevenue(LocalDate day, long invoices, double parts, double labour, double tax, double grand);
+
+    void addPartUsage(LocalDate day, Map<Long, PartDelta> deltasByPartId);
+
+    void addMechanicLoad(LocalDate day, Map<Long, Long> invoicesByMechanicId);
+
+    void addServiceDemand(LocalDate day, Map<Long, Long> appointmentsByServiceId);
+
+    /**
+     * Recomputes every rollup for the inclusive day range from the source tables
+     * (invoice, uses, invoice_mechanic, appointment_services; cancelled
+     * appointments are not demand). Used to repair drift,
+     * e.g. after unit prices changed or rows were edited outside the application.
+     * Part revenue is repriced at the current unit price (0 without one); usage is
+     * counted from the invoice lines that still exist, so a deleted part, whose
+     * lines go with it, drops out of a rebuilt range while the incremental rollups
+     * keep it.
+     */
+    void rebuild(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,167 @@
+package com.rkvk.automobile.automobileshop.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/*
+ * Native upserts (INSERT ... ON DUPLICATE KEY UPDATE col = col + VALUES(col)) so a
+ * delta is applied in one statement per table whatever the number of keys, and two
+ * invoices landing on the same day simply add up under the row lock.
+ */
+@Repository
+public class ReportRollupWriterImpl implements ReportRollupWriter {
+
+    private static final String REVENUE = "report_daily_revenue";
+    private static final String PART_USAGE = "report_daily_part_usage";
+    private static final String MECHANIC_LOAD = "report_daily_mechanic_load";
+    private static final String SERVICE_DEMAND = "report_daily_service_demand";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void addRevenue(LocalDate day, long invoices, double parts, double labour, double tax, double grand) {
+        nativeUpdate(REVENUE,
+                "INSERT INTO " + REVENUE +
+                " (report_date, invoice_count, parts_revenue, labour_revenue, tax_amount, grand_total)" +
+                " VALUES (:day, :invoices, :parts, :labour, :tax, :grand)" +
+                " ON DUPLICATE KEY UPDATE invoice_count = invoice_count + VALUES(invoice_count)," +
+                " parts_revenue = parts_revenue + VALUES(parts_revenue)," +
+                " labour_revenue = labour_revenue + VALUES(labour_revenue)," +
+                " tax_amount = tax_amount + VALUES(tax_amount)," +
+                " grand_total = grand_total + VALUES(grand_total)")
+                .setParameter("day", day)
+                .setParameter("invoices", invoices)
+                .setParameter("parts", parts)
+                .setParameter("labour", labour)
+                .setParameter("tax", tax)
+                .setParameter("grand", grand)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public void addPartUsage(LocalDate day, Map<Long, PartDelta> deltasByPartId) {
+        if (deltasByPartId.isEmpty()) return;
+        Query query = nativeUpdate(PART_USAGE,
+                "INSERT INTO " + PART_USAGE + " (report_date, part_id, quantity, revenue) VALUES " +
+                valueRows(deltasByPartId.size(), 4) +
+                " ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity)," +
+                " revenue = revenue + VALUES(revenue)");
+        bindRows(query, day, deltasByPartId, (n, d) -> {
+            query.setParameter("v" + n + "_2", d.quantity());
+            query.setParameter("v" + n + "_3", d.revenue());
+        });
+        query.executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public void addMechanicLoad(LocalDate day, Map<Long, Long> invoicesByMechanicId) {
+        addCounts(MECHANIC_LOAD, "mechanic_id", "invoice_count", day, invoicesByMechanicId);
+    }
+
+    @Override
+    @Transactional
+    public void addServiceDemand(LocalDate day, Map<Long, Long> appointmentsByServiceId) {
+        addCounts(SERVICE_DEMAND, "service_id", "appointment_count", day, appointmentsByServiceId);
+    }
+
+    @Override
+    @Transactional
+    public void rebuild(LocalDate from, LocalDate to) {
+        for (String table : new String[]{REVENUE, PART_USAGE, MECHANIC_LOAD, SERVICE_DEMAND}) {
+            bindRange(nativeUpdate(table, "DELETE FROM " + table + " WHERE report_date BETWEEN :fromDay AND :toDay"),
+                    from, to, false).executeUpdate();
+        }
+
+        bindRange(nativeUpdate(REVENUE,
+                "INSERT INTO " + REVENUE +
+                " (report_date, invoice_count, parts_revenue, labour_revenue, tax_amount, grand_total)" +
+                " SELECT CAST(i.created_at AS DATE), COUNT(*), COALESCE(SUM(i.parts_subtotal), 0)," +
+                " COALESCE(SUM(i.labour_cost), 0), COALESCE(SUM(i.tax_amount), 0), COALESCE(SUM(i.grand_total), 0)" +
+                " FROM invoice i WHERE i.created_at >= :fromTime AND i.created_at < :toTime" +
+                " GROUP BY CAST(i.created_at AS DATE)"), from, to, true).executeUpdate();
+
+        bindRange(nativeUpdate(PART_USAGE,
+                "INSERT INTO " + PART_USAGE + " (report_date, part_id, quantity, revenue)" +
+                " SELECT CAST(i.created_at AS DATE), u.part_id, SUM(u.count), SUM(u.count * COALESCE(p.unit_price, 0))" +
+                " FROM uses u JOIN invoice i ON i.invoice_id = u.invoice_id" +
+                " LEFT JOIN inventory p ON p.part_id = u.part_id" +
+                " WHERE i.created_at >= :fromTime AND i.created_at < :toTime" +
+                " GROUP BY CAST(i.created_at AS DATE), u.part_id"), from, to, true).executeUpdate();
+
+        bindRange(nativeUpdate(MECHANIC_LOAD,
+                "INSERT INTO " + MECHANIC_LOAD + " (report_date, mechanic_id, invoice_count)" +
+                " SELECT CAST(i.created_at AS DATE), im.mechanic_id, COUNT(*)" +
+                " FROM invoice_mechanic im JOIN invoice i ON i.invoice_id = im.invoice_id" +
+                " WHERE i.created_at >= :fromTime AND i.created_at < :toTime" +
+                " GROUP BY CAST(i.created_at AS DATE), im.mechanic_id"), from, to, true).executeUpdate();
+
+        bindRange(nativeUpdate(SERVICE_DEMAND,
+                "INSERT INTO " + SERVICE_DEMAND + " (report_date, service_id, appointment_count)" +
+                " SELECT CAST(a.date_time AS DATE), aps.service_id, COUNT(*)" +
+                " FROM appointment_services aps JOIN appointment a ON a.appointment_id = aps.appointment_id" +
+                " WHERE a.date_time >= :fromTime AND a.date_time < :toTime AND a.status <> 'CANCELLED'" +
+                " GROUP BY CAST(a.date_time AS DATE), aps.service_id"), from, to, true).executeUpdate();
+    }
+
+    private void addCounts(String table, String keyColumn, String countColumn,
+                           LocalDate day, Map<Long, Long> countsByKey) {
+        if (countsByKey.isEmpty()) return;
+        Query query = nativeUpdate(table,
+                "INSERT INTO " + table + " (report_date, " + keyColumn + ", " + countColumn + ") VALUES " +
+                valueRows(countsByKey.size(), 3) +
+                " ON DUPLICATE KEY UPDATE " + countColumn + " = " + countColumn + " + VALUES(" + countColumn + ")");
+        bindRows(query, day, countsByKey, (n, count) -> query.setParameter("v" + n + "_2", count));
+        query.executeUpdate();
+    }
+
+    private Query nativeUpdate(String table, String sql) {
+        Query query = entityManager.createNativeQuery(sql);
+        // only the rollup table is affected; without this Hibernate invalidates every cache region
+        query.unwrap(NativeQuery.class).addSynchronizedQuerySpace(table);
+        return query;
+    }
+
+    // (:d, :v0_1, :v0_2), (:d, :v1_1, :v1_2) ... -- column 1 is the key, 2.. the deltas
+    private static String valueRows(int rows, int columns) {
+        StringBuilder sb = new StringBuilder();
+        for (int n = 0; n < rows; n++) {
+            if (n > 0) sb.append(", ");
+            sb.append("(:d");
+            for (int c = 1; c < columns; c++) {
+                sb.append(", :v").append(n).append('_').append(c);
+            }
+            sb.append(')');
+        }
+        return sb.toString();
+    }
+
+    private static <V> void bindRows(Query query, LocalDate day, Map<Long, V> valuesByKey, BiConsumer<Integer, V> bindDeltas) {
+        query.setParameter("d", day);
+        int n = 0;
+        for (Map.Entry<Long, V> e : valuesByKey.entrySet()) {
+            query.setParameter("v" + n + "_1", e.getKey());
+            bindDeltas.accept(n, e.getValue());
+            n++;
+        }
+    }
+
+    private static Query bindRange(Query query, LocalDate from, LocalDate to, boolean timestamps) {
+        if (timestamps) {
+            return query.setParameter("fromTime", from.atStartOfDay())
+                    .setParameter("toTime", to.plusDays(1).atStartOfDay());
+        }
+        return query.setParameter("fromDay", from).setParameter("toDay", to);
+    }
+}
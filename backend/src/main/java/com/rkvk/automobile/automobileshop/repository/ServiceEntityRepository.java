@@ -1,9 +1,19 @@
 package com.rkvk.automobile.automobileshop.repository;
 
 import com.rkvk.automobile.automobileshop.entity.ServiceEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ServiceEntityRepository extends JpaRepository<ServiceEntity, Long> {
+
+    // Served from the query cache; invalidated whenever the service table changes
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<ServiceEntity> findAll();
 }
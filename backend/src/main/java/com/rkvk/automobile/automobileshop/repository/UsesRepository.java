@@ -3,10 +3,21 @@ package com.rkvk.automobile.automobileshop.repository;
 import com.rkvk.automobile.automobileshop.entity.Uses;
 import com.rkvk.automobile.automobileshop.entity.id.UsesId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface UsesRepository extends JpaRepository<Uses, UsesId> {
     List<Uses> findByInvoice_InvoiceId(Long invoiceId);
+
+    // Sum of count * unit price over an invoice's lines, computed in the database
+    @Query("SELECT COALESCE(SUM(u.count * u.part.unitPrice), 0.0) FROM Uses u WHERE u.invoice.invoiceId = :invoiceId")
+    Double sumLineTotals(Long invoiceId);
+
+    // [invoiceId, partsSubtotal] for every invoice in the list that has lines
+    @Query("SELECT u.invoice.invoiceId, SUM(u.count * u.part.unitPrice) FROM Uses u " +
+           "WHERE u.invoice.invoiceId IN :invoiceIds GROUP BY u.invoice.invoiceId")
+    List<Object[]> sumLineTotalsByInvoice(Collection<Long> invoiceIds);
 }
@@ -1,11 +1,14 @@
 package com.rkvk.automobile.automobileshop.repository;
 
+import com.rkvk.automobile.automobileshop.dto.VehicleDTO;
 import com.rkvk.automobile.automobileshop.entity.Vehicle;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +16,25 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
 
     List<Vehicle> findByCustomerCustomerId(Long customerId);
     Vehicle findByRegistrationNo(String registrationNo);
-}
\ No newline at end of file
+
+    // ---- Read-only constructor projections for list endpoints: one row per vehicle,
+    // ---- customer id read from the FK column, no managed entities
+
+    String DTO_SELECT = "SELECT new com.rkvk.automobile.automobileshop.dto.VehicleDTO(" +
+            "v.vehicleId, v.registrationNo, v.brand, v.model, v.year, v.fuelType, v.customer.customerId) " +
+            "FROM Vehicle v ";
+
+    @Query(DTO_SELECT + "ORDER BY v.vehicleId")
+    List<VehicleDTO> findAllDtos();
+
+    @Query(DTO_SELECT + "WHERE v.customer.customerId = :customerId ORDER BY v.vehicleId")
+    List<VehicleDTO> findDtosByCustomerId(Long customerId);
+
+    // Keyset page: rows after the given id, in primary-key order
+    @Query(DTO_SELECT + "WHERE v.vehicleId > :afterId ORDER BY v.vehicleId")
+    List<VehicleDTO> findDtosAfter(Long afterId, Limit limit);
+
+    // Registrations from the list that are already on file (bulk import duplicate check)
+    @Query("SELECT v.registrationNo FROM Vehicle v WHERE v.registrationNo IN :registrationNos")
+    List<String> findExistingRegistrationNos(Collection<String> registrationNos);
+}
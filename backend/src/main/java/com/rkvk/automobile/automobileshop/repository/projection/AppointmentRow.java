@@ -0,0 +1,17 @@
+package com.rkvk.automobile.automobileshop.repository.projection;
+
+import com.rkvk.automobile.automobileshop.entity.Appointment.AppointmentStatus;
+
+import java.time.LocalDateTime;
+
+// Scalar columns of an appointment listing; service ids are fetched separately
+public interface AppointmentRow {
+    Long getAppointmentId();
+    Long getUserId();
+    Long getVehicleId();
+    LocalDateTime getDateTime();
+    Integer getBayNo();
+    Long getMechanicId();
+    LocalDateTime getCreatedAt();
+    AppointmentStatus getStatus();
+}
@@ -0,0 +1,7 @@
+package com.rkvk.automobile.automobileshop.repository.projection;
+
+// One (appointment, service) pair of the appointment_services join table
+public interface AppointmentServiceRow {
+    Long getAppointmentId();
+    Long getServiceId();
+}
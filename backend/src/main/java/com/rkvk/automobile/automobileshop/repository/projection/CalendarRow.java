@@ -0,0 +1,24 @@
+package com.rkvk.automobile.automobileshop.repository.projection;
+
+import com.rkvk.automobile.automobileshop.entity.Appointment.AppointmentStatus;
+
+import java.time.LocalDateTime;
+
+// One appointment x service of the calendar query, with the vehicle, customer and mechanic columns
+public interface CalendarRow {
+    Long getAppointmentId();
+    LocalDateTime getDateTime();
+    AppointmentStatus getStatus();
+    Integer getBayNo();
+    Long getVehicleId();
+    String getRegistrationNo();
+    String getBrand();
+    String getModel();
+    Long getCustomerId();
+    String getCustomerFirstName();
+    String getCustomerLastName();
+    Long getMechanicId();
+    String getMechanicFirstName();
+    String getMechanicLastName();
+    String getServiceName();
+}
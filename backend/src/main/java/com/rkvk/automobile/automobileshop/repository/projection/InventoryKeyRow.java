@@ -0,0 +1,8 @@
+package com.rkvk.automobile.automobileshop.repository.projection;
+
+// The columns a bulk import matches existing parts on
+public interface InventoryKeyRow {
+    Long getPartId();
+    String getName();
+    String getSupplierSku();
+}
@@ -3,6 +3,7 @@ package com.rkvk.automobile.automobileshop.security;
 import com.rkvk.automobile.automobileshop.entity.User;
 import com.rkvk.automobile.automobileshop.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
@@ -11,6 +12,9 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
+    // Bounded + TTL'd in ehcache.xml, cleared by UserService on update/delete
+    public static final String PRINCIPAL_CACHE = "principals";
+
     private final UserRepository userRepository;
 
     @Override
@@ -25,4 +29,21 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .authorities(new SimpleGrantedAuthority(user.getRole().name())) // ADMIN or RECEPTIONIST
                 .build();
     }
+
+    /**
+     * Principal for a request that already carries a valid JWT. Cached per username so
+     * steady-state request authentication does no database I/O; the password hash is
+     * left out because nothing downstream of the JWT filter needs it.
+     */
+    @Cacheable(cacheNames = PRINCIPAL_CACHE, key = "#username")
+    public UserDetails loadAuthenticatedPrincipal(String username) throws UsernameNotFoundException {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+
+        return org.springframework.security.core.userdetails.User
+                .withUsername(user.getUsername())
+                .password("")
+                .authorities(new SimpleGrantedAuthority(user.getRole().name()))
+                .build();
+    }
 }
@@ -1,5 +1,6 @@
 package com.rkvk.automobile.automobileshop.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -41,11 +42,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 token = header.substring(7);
             }
 
-            if (token != null && jwtUtil.validateToken(token)
-                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // one signature check per request; the claims carry everything we need
+            Claims claims = token != null ? jwtUtil.parseAndValidate(token).orElse(null) : null;
 
-                String username = jwtUtil.getUsernameFromToken(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+
+                String username = claims.getSubject();
+                UserDetails userDetails = userDetailsService.loadAuthenticatedPrincipal(username);
 
                 UsernamePasswordAuthenticationToken auth =
                         new UsernamePasswordAuthenticationToken(
@@ -74,6 +77,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 || path.startsWith("/api/images")
                 || path.startsWith("/css")
                 || path.startsWith("/js")
-                || path.equals("/favicon.ico");
+                || path.equals("/favicon.ico")
+                || path.equals("/actuator/health");
     }
 }
@@ -7,18 +7,22 @@ import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtUtil {
 
     private final Key key;
     private final long jwtExpirationMs;
+    // JwtParser is immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser;
 
     public JwtUtil(
             @Value("${app.jwt.secret}") String secret,
             @Value("${app.jwt.expiration-ms}") long jwtExpirationMs) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.jwtExpirationMs = jwtExpirationMs;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     public String generateToken(String username, String role) {
@@ -31,25 +35,31 @@ public class JwtUtil {
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the signature and expiry once and returns the claims, or empty when the
+     * token is malformed, tampered with or expired. Callers read subject and role from
+     * the returned claims instead of parsing the token again.
+     */
+    public Optional<Claims> parseAndValidate(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            return Optional.of(parser.parseClaimsJws(token).getBody());
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
 
+    public boolean validateToken(String token) {
+        return parseAndValidate(token).isPresent();
+    }
+
     public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
 
     public String getRoleFromToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .get("role", String.class);
     }
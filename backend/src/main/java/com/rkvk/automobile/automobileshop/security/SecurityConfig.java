@@ -1,8 +1,10 @@
 package com.rkvk.automobile.automobileshop.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -47,6 +49,9 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        //  Async re-dispatch of streamed responses (the original request was already checked)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         //  Public routes (no authentication)
                         .requestMatchers(
                                 "/images/**",
@@ -54,12 +59,21 @@ public class SecurityConfig {
                                 "/api/auth/**",
                                 "/favicon.ico",
                                 "/css/**",
-                                "/js/**"
+                                "/js/**",
+                                "/actuator/health"
                         ).permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
+                        .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
 
                         //  Restricted routes
+                        .requestMatchers("/api/customers/import").hasAuthority("ADMIN")
                         .requestMatchers("/api/customers/**").hasAnyAuthority("ADMIN", "RECEPTIONIST")
                         .requestMatchers("/api/vehicles/**").hasAnyAuthority("ADMIN", "RECEPTIONIST")
+                        .requestMatchers("/api/reports/rebuild").hasAuthority("ADMIN")
+                        .requestMatchers("/api/inventory/import").hasAuthority("ADMIN")
+                        .requestMatchers("/api/reports/**").hasAnyAuthority("ADMIN", "RECEPTIONIST")
+                        .requestMatchers(HttpMethod.PUT, "/api/mechanics/*/skills/*").hasAuthority("ADMIN")
+                        .requestMatchers(HttpMethod.DELETE, "/api/mechanics/*/skills/*").hasAuthority("ADMIN")
 
                         //  All other routes require authentication
                         .anyRequest().authenticated()
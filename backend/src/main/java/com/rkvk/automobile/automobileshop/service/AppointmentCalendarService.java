@@ -0,0 +1,128 @@
+package com.rkvk.automobile.automobileshop.service;
+
+import com.rkvk.automobile.automobileshop.dto.CalendarDayDTO;
+import com.rkvk.automobile.automobileshop.dto.CalendarEntryDTO;
+import com.rkvk.automobile.automobileshop.exception.InvalidRequestException;
+import com.rkvk.automobile.automobileshop.repository.AppointmentRepository;
+import com.rkvk.automobile.automobileshop.repository.projection.CalendarRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Receptionist calendar: denormalized day views (vehicle, customer, mechanic and
+ * service names on every appointment) built from one join query.
+ *
+ * Days are cached whole in calendarDays (ehcache.xml, short TTL). Appointment writes
+ * evict their day once they commit; changes to vehicles, customers, mechanics or
+ * service names show up when the TTL runs out.
+ */
+@Service
+@RequiredArgsConstructor
+public class AppointmentCalendarService {
+
+    public static final String CALENDAR_CACHE = "calendarDays";
+    static final int MAX_DAYS = 31;
+
+    private final AppointmentRepository appointmentRepository;
+    private final CacheManager cacheManager;
+
+    // Days [from, from + days); only the days not cached are read, in one query
+    @Transactional(readOnly = true)
+    public List<CalendarDayDTO> getCalendar(LocalDate from, int days) {
+        if (from == null) {
+            throw new InvalidRequestException("'from' is required");
+        }
+        if (days < 1 || days > MAX_DAYS) {
+            throw new InvalidRequestException("days must be between 1 and " + MAX_DAYS);
+        }
+
+        Cache cache = cache();
+        Map<LocalDate, CalendarDayDTO> calendar = new TreeMap<>();
+        List<LocalDate> missing = new ArrayList<>();
+        for (int i = 0; i < days; i++) {
+            LocalDate day = from.plusDays(i);
+            CalendarDayDTO cached = cache.get(day, CalendarDayDTO.class);
+            if (cached != null) {
+                calendar.put(day, cached);
+            } else {
+                missing.add(day);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            LocalDate first = missing.getFirst();
+            LocalDate last = missing.getLast();
+            Map<LocalDate, List<CalendarEntryDTO>> loaded = load(first.atStartOfDay(), last.plusDays(1).atStartOfDay());
+            for (LocalDate day : missing) {
+                CalendarDayDTO view = new CalendarDayDTO(day, loaded.getOrDefault(day, List.of()));
+                cache.put(day, view);
+                calendar.put(day, view);
+            }
+        }
+        return new ArrayList<>(calendar.values());
+    }
+
+    // Call from the transaction that books, changes or deletes an appointment at dateTime
+    public void evictOnCommit(LocalDateTime dateTime) {
+        if (dateTime == null) return;
+        LocalDate day = dateTime.toLocalDate();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache().evict(day);
+                }
+            });
+        } else {
+            cache().evict(day);
+        }
+    }
+
+    // Rows arrive ordered by dateTime, appointment id: consecutive rows of one appointment merge
+    private Map<LocalDate, List<CalendarEntryDTO>> load(LocalDateTime start, LocalDateTime end) {
+        Map<LocalDate, List<CalendarEntryDTO>> byDay = new HashMap<>();
+        CalendarEntryDTO current = null;
+        for (CalendarRow row : appointmentRepository.findCalendarRows(start, end)) {
+            if (current == null || !current.getAppointmentId().equals(row.getAppointmentId())) {
+                current = CalendarEntryDTO.builder()
+                        .appointmentId(row.getAppointmentId())
+                        .dateTime(row.getDateTime())
+                        .status(row.getStatus())
+                        .bayNo(row.getBayNo())
+                        .vehicleId(row.getVehicleId())
+                        .registrationNo(row.getRegistrationNo())
+                        .vehicleBrand(row.getBrand())
+                        .vehicleModel(row.getModel())
+                        .customerId(row.getCustomerId())
+                        .customerName(fullName(row.getCustomerFirstName(), row.getCustomerLastName()))
+                        .mechanicId(row.getMechanicId())
+                        .mechanicName(fullName(row.getMechanicFirstName(), row.getMechanicLastName()))
+                        .services(new ArrayList<>())
+                        .build();
+                byDay.computeIfAbsent(row.getDateTime().toLocalDate(), d -> new ArrayList<>()).add(current);
+            }
+            if (row.getServiceName() != null) {
+                current.getServices().add(row.getServiceName());
+            }
+        }
+        return byDay;
+    }
+
+    private Cache cache() {
+        return Objects.requireNonNull(cacheManager.getCache(CALENDAR_CACHE), "calendarDays cache is not configured");
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        String name = (Objects.toString(firstName, "") + " " + Objects.toString(lastName, "")).trim();
+        return name.isEmpty() ? null : name;
+    }
+}
@@ -1,42 +1,98 @@
 package com.rkvk.automobile.automobileshop.service;
 
 import com.rkvk.automobile.automobileshop.dto.AppointmentDTO;
+import com.rkvk.automobile.automobileshop.dto.CalendarDayDTO;
+import com.rkvk.automobile.automobileshop.dto.KeysetPageDTO;
+import com.rkvk.automobile.automobileshop.dto.SlotAvailabilityDTO;
 import com.rkvk.automobile.automobileshop.entity.*;
+import com.rkvk.automobile.automobileshop.exception.AppointmentConflictException;
+import com.rkvk.automobile.automobileshop.exception.InvalidRequestException;
+import com.rkvk.automobile.automobileshop.exception.MechanicUnavailableException;
 import com.rkvk.automobile.automobileshop.exception.ResourceNotFoundException;
 import com.rkvk.automobile.automobileshop.mapper.AppointmentMapper;
 import com.rkvk.automobile.automobileshop.repository.*;
+import com.rkvk.automobile.automobileshop.repository.projection.AppointmentRow;
+import com.rkvk.automobile.automobileshop.repository.projection.AppointmentServiceRow;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 public class AppointmentService {
 
+    private static final Pattern USER_OR_VEHICLE_FK = Pattern.compile(
+            "fk_appointment_(user|vehicle)\\b|FOREIGN KEY\\s*\\(\\W*(user_id|vehicle_id)\\W*\\)",
+            Pattern.CASE_INSENSITIVE);
+
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
     private final VehicleRepository vehicleRepository;
     private final ServiceEntityRepository serviceEntityRepository;
-
+    private final MechanicRepository mechanicRepository;
+    private final ReportingService reportingService;
+    private final SlotScheduler slotScheduler;
+    private final MechanicSkillIndex skillIndex;
+    private final AppointmentCalendarService calendarService;
+
+    // Writes are transactional so the service-demand rollup and the slot index change with the appointment
+    @Transactional
     public Appointment createAppointment(AppointmentDTO dto) {
-        User user = userRepository.findById(dto.getUserId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + dto.getUserId()));
+        slotScheduler.checkBookable(dto.getDateTime());
 
-        Vehicle vehicle = vehicleRepository.findById(dto.getVehicleId())
-                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with id " + dto.getVehicleId()));
+        if (dto.getUserId() == null || dto.getVehicleId() == null) {
+            throw new InvalidRequestException("userId and vehicleId are required");
+        }
+        if (dto.getServiceIds() == null || dto.getServiceIds().isEmpty()) {
+            throw new InvalidRequestException("serviceIds are required");
+        }
 
-        // multiple services
-        Set<ServiceEntity> services = dto.getServiceIds().stream()
-                .map(id -> serviceEntityRepository.findById(id)
-                        .orElseThrow(() -> new ResourceNotFoundException("Service not found with id " + id)))
-                .collect(Collectors.toSet());
+        // only the foreign keys are needed: proxies, checked by the FK constraints at flush
+        User user = userRepository.getReferenceById(dto.getUserId());
+        Vehicle vehicle = vehicleRepository.getReferenceById(dto.getVehicleId());
 
-        Appointment appointment = AppointmentMapper.toEntity(dto, user, vehicle, services);
-        return appointmentRepository.save(appointment);
+        // all services in one query
+        Set<ServiceEntity> services = new HashSet<>(serviceEntityRepository.findAllById(dto.getServiceIds()));
+        if (services.size() < dto.getServiceIds().size()) {
+            Set<Long> missing = new TreeSet<>(dto.getServiceIds());
+            services.forEach(s -> missing.remove(s.getServiceId()));
+            throw new ResourceNotFoundException("Services not found with ids " + missing);
+        }
+
+        Mechanic mechanic = null;
+        if (dto.getMechanicId() != null) {
+            mechanic = mechanicRepository.findById(dto.getMechanicId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Mechanic not found with id " + dto.getMechanicId()));
+            if (!skillIndex.canDo(dto.getMechanicId(), dto.getServiceIds())) {
+                throw new MechanicUnavailableException("Mechanic " + dto.getMechanicId() + " cannot do all of the requested services");
+            }
+        }
+
+        // save first for the id (the INSERT waits for the flush), then claim the slot
+        Appointment appointment = appointmentRepository.save(AppointmentMapper.toEntity(dto, user, vehicle, services, mechanic));
+        if (appointment.getStatus() != Appointment.AppointmentStatus.CANCELLED) {
+            appointment.setBayNo(slotScheduler.reserve(appointment.getAppointmentId(), appointment.getDateTime(),
+                    dto.getBayNo(), dto.getMechanicId()));
+        }
+        try {
+            appointmentRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (!isUserOrVehicleFkViolation(e)) throw e;
+            throw new ResourceNotFoundException("User " + dto.getUserId() + " or vehicle " + dto.getVehicleId() + " not found");
+        }
+        if (appointment.getStatus() != Appointment.AppointmentStatus.CANCELLED) {
+            reportingService.appointmentBooked(appointment);
+        }
+        calendarService.evictOnCommit(appointment.getDateTime());
+        return appointment;
     }
 
     public Appointment getAppointmentById(Long id) {
@@ -44,49 +100,141 @@ public class AppointmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment not found with id " + id));
     }
 
-    public List<Appointment> getAllAppointments() {
-        return appointmentRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<AppointmentDTO> getAllAppointments() {
+        return toDtos(appointmentRepository.findAllRows());
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPageDTO<AppointmentDTO> getAppointmentPage(Long afterId, int limit) {
+        int size = KeysetPageDTO.checkLimit(limit);
+        List<AppointmentDTO> appointments = toDtos(appointmentRepository.findRowsAfter(afterId, Limit.of(size)));
+        return KeysetPageDTO.of(appointments, size, AppointmentDTO::getAppointmentId);
     }
 
-    public List<Appointment> getAppointmentsByUser(Long userId) {
-        return appointmentRepository.findByUser_UserId(userId);
+    @Transactional(readOnly = true)
+    public List<AppointmentDTO> getAppointmentsByUser(Long userId) {
+        return toDtos(appointmentRepository.findRowsByUserId(userId));
     }
 
-    public List<Appointment> getAppointmentsByVehicle(Long vehicleId) {
-        return appointmentRepository.findByVehicle_VehicleId(vehicleId);
+    @Transactional(readOnly = true)
+    public List<AppointmentDTO> getAppointmentsByVehicle(Long vehicleId) {
+        return toDtos(appointmentRepository.findRowsByVehicleId(vehicleId));
     }
 
-    public List<Appointment> getAppointmentsByService(Long serviceId) {
-        return appointmentRepository.findByService_ServiceId(serviceId);
+    @Transactional(readOnly = true)
+    public List<AppointmentDTO> getAppointmentsByService(Long serviceId) {
+        return toDtos(appointmentRepository.findRowsByServiceId(serviceId));
     }
 
-    public List<Appointment> getAppointmentsByCreatedRange(LocalDateTime start, LocalDateTime end) {
-        return appointmentRepository.findByCreatedAtBetween(start, end);
+    @Transactional(readOnly = true)
+    public List<AppointmentDTO> getAppointmentsByCreatedRange(LocalDateTime start, LocalDateTime end) {
+        return toDtos(appointmentRepository.findRowsByCreatedAtBetween(start, end));
     }
 
-    public List<Appointment> getAppointmentsByScheduledRange(LocalDateTime start, LocalDateTime end) {
-        return appointmentRepository.findByDateTimeBetween(start, end);
+    @Transactional(readOnly = true)
+    public List<AppointmentDTO> getAppointmentsByScheduledRange(LocalDateTime start, LocalDateTime end) {
+        return toDtos(appointmentRepository.findRowsByDateTimeBetween(start, end));
     }
 
+    @Transactional
     public void deleteAppointment(Long id) {
-        if (!appointmentRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Appointment not found with id " + id);
+        Appointment appointment = appointmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Appointment not found with id " + id));
+        if (appointment.getStatus() != Appointment.AppointmentStatus.CANCELLED) {
+            reportingService.appointmentRemoved(appointment);
         }
-        appointmentRepository.deleteById(id);
+        appointmentRepository.delete(appointment);
+        slotScheduler.releaseOnCommit(id);
+        calendarService.evictOnCommit(appointment.getDateTime());
     }
 
-    public List<Appointment> getAppointmentsByStatus(Appointment.AppointmentStatus status) {
-        return appointmentRepository.findByStatus(status);
+    @Transactional(readOnly = true)
+    public List<AppointmentDTO> getAppointmentsByStatus(Appointment.AppointmentStatus status) {
+        return toDtos(appointmentRepository.findRowsByStatus(status));
     }
 
-    public List<Appointment> getAppointmentsByUserAndStatus(Long userId, Appointment.AppointmentStatus status) {
-        return appointmentRepository.findByUser_UserIdAndStatus(userId, status);
+    @Transactional(readOnly = true)
+    public List<AppointmentDTO> getAppointmentsByUserAndStatus(Long userId, Appointment.AppointmentStatus status) {
+        return toDtos(appointmentRepository.findRowsByUserIdAndStatus(userId, status));
     }
 
+    @Transactional
     public Appointment updateAppointmentStatus(Long id, Appointment.AppointmentStatus newStatus) {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment not found with id " + id));
+        boolean wasCancelled = appointment.getStatus() == Appointment.AppointmentStatus.CANCELLED;
+        boolean cancelled = newStatus == Appointment.AppointmentStatus.CANCELLED;
+        if (cancelled && !wasCancelled) {
+            reportingService.appointmentRemoved(appointment);
+            slotScheduler.releaseOnCommit(id);
+        } else if (wasCancelled && !cancelled) {
+            // the old bay may have been taken meanwhile: keep it if free, else any free one
+            Long mechanicId = appointment.getMechanic() != null ? appointment.getMechanic().getMechanicId() : null;
+            appointment.setBayNo(reserveAgain(appointment, mechanicId));
+            reportingService.appointmentBooked(appointment);
+        }
         appointment.setStatus(newStatus);
+        calendarService.evictOnCommit(appointment.getDateTime());
         return appointmentRepository.save(appointment);
     }
+
+    private Integer reserveAgain(Appointment appointment, Long mechanicId) {
+        if (appointment.getBayNo() != null) {
+            try {
+                return slotScheduler.reserve(appointment.getAppointmentId(), appointment.getDateTime(),
+                        appointment.getBayNo(), mechanicId);
+            } catch (AppointmentConflictException | InvalidRequestException e) {
+                // fall through to any free bay
+            }
+        }
+        return slotScheduler.reserve(appointment.getAppointmentId(), appointment.getDateTime(), null, mechanicId);
+    }
+
+    public List<CalendarDayDTO> getCalendar(LocalDate from, int days) {
+        return calendarService.getCalendar(from, days);
+    }
+
+    public SlotAvailabilityDTO getSlotAvailability(LocalDateTime dateTime, Integer bayNo, Long mechanicId) {
+        return slotScheduler.getAvailability(dateTime, bayNo, mechanicId);
+    }
+
+    public List<SlotAvailabilityDTO> findFreeSlots(LocalDateTime from, int count, Integer bayNo, Long mechanicId) {
+        return slotScheduler.findFreeSlots(from, count, bayNo, mechanicId);
+    }
+
+    // By constraint name, or by the column in the database's message for schemas whose
+    // FKs still have generated names (built by ddl-auto and not yet migrated to V2)
+    private static boolean isUserOrVehicleFkViolation(DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && USER_OR_VEHICLE_FK.matcher(violation.getConstraintName()).find()) {
+            return true;
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && USER_OR_VEHICLE_FK.matcher(message).find();
+    }
+
+    // Projection rows + one query per InQueries.IN_CHUNK appointments for their service ids
+    private List<AppointmentDTO> toDtos(List<AppointmentRow> rows) {
+        Map<Long, Set<Long>> serviceIds = new HashMap<>();
+        List<Long> ids = rows.stream().map(AppointmentRow::getAppointmentId).toList();
+        for (AppointmentServiceRow r : InQueries.inChunks(ids, appointmentRepository::findServiceIdsFor)) {
+            serviceIds.computeIfAbsent(r.getAppointmentId(), k -> new HashSet<>()).add(r.getServiceId());
+        }
+
+        return rows.stream()
+                .map(r -> AppointmentDTO.builder()
+                        .appointmentId(r.getAppointmentId())
+                        .userId(r.getUserId())
+                        .vehicleId(r.getVehicleId())
+                        .serviceIds(serviceIds.getOrDefault(r.getAppointmentId(), new HashSet<>()))
+                        .dateTime(r.getDateTime())
+                        .bayNo(r.getBayNo())
+                        .mechanicId(r.getMechanicId())
+                        .createdAt(r.getCreatedAt())
+                        .status(r.getStatus())
+                        .build())
+                .toList();
+    }
 }
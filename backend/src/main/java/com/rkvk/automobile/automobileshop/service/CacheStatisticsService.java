@@ -0,0 +1,67 @@
+package com.rkvk.automobile.automobileshop.service;
+
+import com.rkvk.automobile.automobileshop.dto.CacheRegionStatsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Hit/miss/put counts come from Hibernate statistics, evictions from the
+    // JCache statistics MBeans Ehcache registers for each region
+    public List<CacheRegionStatsDTO> getSecondLevelCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Long> evictions = jcacheEvictions();
+
+        List<CacheRegionStatsDTO> result = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) continue;
+            result.add(CacheRegionStatsDTO.builder()
+                    .region(region)
+                    .hitCount(stats.getHitCount())
+                    .missCount(stats.getMissCount())
+                    .putCount(stats.getPutCount())
+                    .elementCountInMemory(stats.getElementCountInMemory())
+                    .evictionCount(evictions.get(region))
+                    .build());
+        }
+        result.sort(Comparator.comparing(CacheRegionStatsDTO::getRegion));
+        return result;
+    }
+
+    public void clearStatistics() {
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().clear();
+    }
+
+    private Map<String, Long> jcacheEvictions() {
+        Map<String, Long> evictions = new HashMap<>();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (ObjectName name : server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+                Object value = server.getAttribute(name, "CacheEvictions");
+                if (value instanceof Number n) {
+                    evictions.merge(name.getKeyProperty("Cache"), n.longValue(), Long::sum);
+                }
+            }
+        } catch (JMException e) {
+            log.warn("Could not read JCache eviction statistics: {}", e.getMessage());
+        }
+        return evictions;
+    }
+}
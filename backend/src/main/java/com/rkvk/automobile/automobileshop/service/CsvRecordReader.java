@@ -0,0 +1,96 @@
+package com.rkvk.automobile.automobileshop.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Minimal RFC 4180 reader for bulk imports: one record per call, so a file of any
+ * size is parsed with one record in memory. Handles quoted fields with commas,
+ * doubled quotes and line breaks, CRLF or LF line ends, and skips blank lines.
+ */
+final class CsvRecordReader {
+
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private int pushedBack = NONE;
+    private boolean first = true;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = new BufferedReader(reader, 64 * 1024);
+    }
+
+    // Next record, or null at end of input
+    List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        int c;
+        while ((c = read()) != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    int n = read();
+                    if (n == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        pushedBack = n;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int n = read();
+                    if (n != '\n') pushedBack = n;
+                }
+                if (fields.isEmpty() && field.isEmpty() && !wasQuoted) {
+                    continue; // blank line
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new IOException("Unterminated quoted field");
+        }
+        if (fields.isEmpty() && field.isEmpty() && !wasQuoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        int c = reader.read();
+        if (first) {
+            first = false;
+            if (c == '\uFEFF') c = reader.read(); // UTF-8 byte order mark from spreadsheet exports
+        }
+        return c;
+    }
+
+    // Header names compared loosely: "Unit Price", "unit_price" and "unitPrice" are the same column
+    static String normalizeHeader(String name) {
+        return name.trim().toLowerCase(Locale.ROOT).replaceAll("[\\s_\\-]", "");
+    }
+}
@@ -0,0 +1,224 @@
+package com.rkvk.automobile.automobileshop.service;
+
+import com.rkvk.automobile.automobileshop.dto.*;
+import com.rkvk.automobile.automobileshop.entity.Customer;
+import com.rkvk.automobile.automobileshop.entity.CustomerEmail;
+import com.rkvk.automobile.automobileshop.entity.CustomerMiddleName;
+import com.rkvk.automobile.automobileshop.entity.Vehicle;
+import com.rkvk.automobile.automobileshop.entity.id.CustomerEmailId;
+import com.rkvk.automobile.automobileshop.entity.id.CustomerMiddleNameId;
+import com.rkvk.automobile.automobileshop.exception.InvalidRequestException;
+import com.rkvk.automobile.automobileshop.mapper.VehicleMapper;
+import com.rkvk.automobile.automobileshop.repository.CustomerRepository;
+import com.rkvk.automobile.automobileshop.repository.VehicleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Bulk creation of customers with their middle names, emails and vehicles, for
+ * migrations from another system.
+ *
+ * Customers and vehicles take pooled sequence ids, so Hibernate can group the
+ * INSERTs of each table into JDBC batches (hibernate.jdbc.batch_size, order_inserts)
+ * instead of one round trip per row. Items are validated up front; valid ones are
+ * written in chunks of {@code chunk-size} customers, each chunk in its own
+ * transaction, and the persistence context is cleared after each chunk so memory
+ * does not grow with the request. A chunk the database rejects is reported item by
+ * item; chunks committed before it stay committed.
+ */
+@Slf4j
+@Service
+public class CustomerImportService {
+
+    private final CustomerRepository customerRepository;
+    private final VehicleRepository vehicleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxBatch;
+    private final int maxReportedErrors;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CustomerImportService(
+            CustomerRepository customerRepository,
+            VehicleRepository vehicleRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.customer.import.chunk-size:500}") int chunkSize,
+            @Value("${app.customer.import.max-batch:10000}") int maxBatch,
+            @Value("${app.customer.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.customerRepository = customerRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxBatch = maxBatch;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    // A validated item, row = 1-based position in the request
+    private record Item(long row, String key, Customer customer, int rows) {}
+
+    public ImportResultDTO importCustomers(List<CustomerImportDTO> batch) {
+        if (batch == null || batch.isEmpty()) {
+            throw new InvalidRequestException("Nothing to import");
+        }
+        if (batch.size() > maxBatch) {
+            throw new InvalidRequestException("At most " + maxBatch + " customers per request");
+        }
+
+        long started = System.nanoTime();
+        ImportResultDTO result = new ImportResultDTO();
+        result.setRowsRead(batch.size());
+
+        Set<String> takenRegistrations = existingRegistrations(batch);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Item item = validate(i + 1, batch.get(i), takenRegistrations, result);
+            if (item != null) items.add(item);
+        }
+
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            writeChunk(items.subList(from, Math.min(from + chunkSize, items.size())), result);
+        }
+
+        result.finish(started);
+        log.info("Customer import: {} customers inserted, {} failed, {} rows in {} ms ({} rows/s)",
+                result.getInserted(), result.getFailed(), result.getRowsWritten(),
+                result.getElapsedMs(), result.getRowsPerSecond());
+        return result;
+    }
+
+    private void writeChunk(List<Item> chunk, ImportResultDTO result) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                customerRepository.saveAll(chunk.stream().map(Item::customer).toList());
+                // push the batched INSERTs now (translated errors) and drop the managed copies
+                customerRepository.flush();
+                entityManager.clear();
+            });
+            result.setInserted(result.getInserted() + chunk.size());
+            result.setRowsWritten(result.getRowsWritten() + chunk.stream().mapToInt(Item::rows).sum());
+        } catch (DataAccessException e) {
+            log.warn("Customer import chunk of {} customers rejected", chunk.size(), e);
+            String message = "Chunk rejected by the database: " + e.getMostSpecificCause().getMessage();
+            chunk.forEach(item -> addError(result, item.row(), item.key(), message));
+        }
+    }
+
+    private Item validate(long row, CustomerImportDTO item, Set<String> takenRegistrations, ImportResultDTO result) {
+        CustomerDTO dto = item != null ? item.getCustomer() : null;
+        if (dto == null) {
+            addError(result, row, null, "customer is required");
+            return null;
+        }
+        String key = (Objects.toString(dto.getFirstName(), "") + " " + Objects.toString(dto.getLastName(), "")).trim();
+        if (isBlank(dto.getFirstName())) {
+            addError(result, row, key, "firstName is required");
+            return null;
+        }
+
+        // the child tables are keyed on (customer, value): repeated values would collide
+        Set<String> middleNames = cleanValues(dto.getMiddleNames());
+        Set<String> emails = cleanValues(dto.getEmails());
+
+        List<VehicleDTO> vehicles = item.getVehicles() != null ? item.getVehicles() : List.of();
+        Set<String> registrations = new HashSet<>();
+        for (VehicleDTO v : vehicles) {
+            if (v == null || isBlank(v.getRegistrationNo())) {
+                addError(result, row, key, "every vehicle needs a registrationNo");
+                return null;
+            }
+            String reg = v.getRegistrationNo().trim();
+            if (takenRegistrations.contains(reg) || !registrations.add(reg)) {
+                addError(result, row, key, "vehicle " + reg + " already exists");
+                return null;
+            }
+        }
+        takenRegistrations.addAll(registrations);
+
+        Customer customer = Customer.builder()
+                .firstName(dto.getFirstName())
+                .lastName(dto.getLastName())
+                .houseNo(dto.getHouseNo())
+                .street(dto.getStreet())
+                .locality(dto.getLocality())
+                .city(dto.getCity())
+                .pinCode(dto.getPinCode())
+                .build();
+
+        List<CustomerMiddleName> middleNameRows = new ArrayList<>();
+        int order = 1;
+        for (String middleName : middleNames) {
+            middleNameRows.add(CustomerMiddleName.builder()
+                    .id(new CustomerMiddleNameId(null, middleName))
+                    .middleNameOrder(order++)
+                    .customer(customer)
+                    .build());
+        }
+        List<CustomerEmail> emailRows = new ArrayList<>();
+        for (String email : emails) {
+            emailRows.add(CustomerEmail.builder()
+                    .id(new CustomerEmailId(null, email))
+                    .customer(customer)
+                    .build());
+        }
+        List<Vehicle> vehicleRows = new ArrayList<>();
+        for (VehicleDTO v : vehicles) {
+            Vehicle vehicle = VehicleMapper.toEntity(v, customer);
+            vehicle.setVehicleId(null);
+            vehicle.setRegistrationNo(v.getRegistrationNo().trim());
+            vehicleRows.add(vehicle);
+        }
+        customer.setMiddleNames(middleNameRows);
+        customer.setEmails(emailRows);
+        customer.setVehicles(vehicleRows);
+
+        int rows = 1 + middleNameRows.size() + emailRows.size() + vehicleRows.size();
+        return new Item(row, key, customer, rows);
+    }
+
+    // One IN query per InQueries.IN_CHUNK registrations of the request
+    private Set<String> existingRegistrations(List<CustomerImportDTO> batch) {
+        List<String> all = batch.stream()
+                .filter(Objects::nonNull)
+                .map(CustomerImportDTO::getVehicles)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .filter(v -> v != null && !isBlank(v.getRegistrationNo()))
+                .map(v -> v.getRegistrationNo().trim())
+                .distinct()
+                .toList();
+        return new HashSet<>(InQueries.inChunks(all, vehicleRepository::findExistingRegistrationNos));
+    }
+
+    private void addError(ImportResultDTO result, long row, String key, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ImportRowErrorDTO(row, key, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static Set<String> cleanValues(List<String> values) {
+        Set<String> clean = new LinkedHashSet<>();
+        if (values != null) {
+            for (String value : values) {
+                if (!isBlank(value)) clean.add(value.trim());
+            }
+        }
+        return clean;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -1,6 +1,7 @@
 package com.rkvk.automobile.automobileshop.service;
 
 import com.rkvk.automobile.automobileshop.dto.CustomerDTO;
+import com.rkvk.automobile.automobileshop.dto.KeysetPageDTO;
 import com.rkvk.automobile.automobileshop.entity.Customer;
 import com.rkvk.automobile.automobileshop.entity.CustomerEmail;
 import com.rkvk.automobile.automobileshop.entity.CustomerMiddleName;
@@ -11,9 +12,14 @@ import com.rkvk.automobile.automobileshop.repository.CustomerEmailRepository;
 import com.rkvk.automobile.automobileshop.repository.CustomerMiddleNameRepository;
 import com.rkvk.automobile.automobileshop.repository.CustomerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +31,7 @@ public class CustomerService {
     private final CustomerMapper customerMapper;
 
     // Add Customer and return DTO (includes generated customerId)
+    @Transactional
     public CustomerDTO addCustomer(CustomerDTO dto) {
         Customer customer = customerMapper.dtoToEntity(dto);
         Customer savedCustomer = customerRepository.save(customer);
@@ -76,46 +83,20 @@ public class CustomerService {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Customer not found with id: " + id));
 
-        CustomerDTO dto = customerMapper.entityToDto(customer);
-
-        List<String> middleNames = middleNameRepository.findByIdCustomerId(id)
-                .stream()
-                .map(m -> m.getId().getMiddleName())
-                .toList();
-        dto.setMiddleNames(middleNames);
-
-        List<String> emails = emailRepository.findByIdCustomerId(id)
-                .stream()
-                .map(e -> e.getId().getEmail())
-                .toList();
-        dto.setEmails(emails);
-
-        return dto;
+        return toDtos(List.of(customer)).get(0);
     }
 
     // Get all customers (list of DTOs)
     public List<CustomerDTO> getAllCustomers() {
-        List<Customer> customers = customerRepository.findAll();
-
-        return customers.stream().map(customer -> {
-            CustomerDTO dto = customerMapper.entityToDto(customer);
-
-            // middle names
-            List<String> middleNames = middleNameRepository.findByIdCustomerId(customer.getCustomerId())
-                    .stream()
-                    .map(m -> m.getId().getMiddleName())
-                    .toList();
-            dto.setMiddleNames(middleNames);
-
-            // emails
-            List<String> emails = emailRepository.findByIdCustomerId(customer.getCustomerId())
-                    .stream()
-                    .map(e -> e.getId().getEmail())
-                    .toList();
-            dto.setEmails(emails);
-
-            return dto;
-        }).toList();
+        return toDtos(customerRepository.findAll());
+    }
+
+    // Keyset page of customers ordered by id
+    public KeysetPageDTO<CustomerDTO> getCustomerPage(Long afterId, int limit) {
+        int size = KeysetPageDTO.checkLimit(limit);
+        List<Customer> customers = customerRepository
+                .findByCustomerIdGreaterThanOrderByCustomerIdAsc(afterId, Limit.of(size));
+        return KeysetPageDTO.of(toDtos(customers), size, CustomerDTO::getCustomerId);
     }
 
     // Delete customer safely
@@ -125,30 +106,60 @@ public class CustomerService {
         customerRepository.delete(customer);
     }
 
-    // Private helper to save middle names and emails
+    // Builds the DTOs with one middle-name query and one email query per
+    // InQueries.IN_CHUNK customers, instead of two queries per customer
+    private List<CustomerDTO> toDtos(List<Customer> customers) {
+        if (customers.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = customers.stream().map(Customer::getCustomerId).toList();
+        Map<Long, List<String>> middleNamesByCustomer = new HashMap<>();
+        Map<Long, List<String>> emailsByCustomer = new HashMap<>();
+        List<CustomerMiddleName> middleNames =
+                InQueries.inChunks(ids, middleNameRepository::findByIdCustomerIdInOrderByMiddleNameOrderAsc);
+        for (CustomerMiddleName m : middleNames) {
+            middleNamesByCustomer.computeIfAbsent(m.getId().getCustomerId(), k -> new ArrayList<>())
+                    .add(m.getId().getMiddleName());
+        }
+        for (CustomerEmail e : InQueries.inChunks(ids, emailRepository::findByIdCustomerIdIn)) {
+            emailsByCustomer.computeIfAbsent(e.getId().getCustomerId(), k -> new ArrayList<>())
+                    .add(e.getId().getEmail());
+        }
+
+        return customers.stream()
+                .map(customer -> customerMapper.entityToDto(customer,
+                        middleNamesByCustomer.getOrDefault(customer.getCustomerId(), List.of()),
+                        emailsByCustomer.getOrDefault(customer.getCustomerId(), List.of())))
+                .toList();
+    }
+
+    // Private helper to save middle names and emails, each table as one batched saveAll
     private void saveMiddleNamesAndEmails(Customer customer, CustomerDTO dto) {
         if (dto.getMiddleNames() != null) {
+            List<CustomerMiddleName> middleNames = new ArrayList<>();
             int order = 1;
             for (String middleName : dto.getMiddleNames()) {
                 CustomerMiddleNameId id = new CustomerMiddleNameId(customer.getCustomerId(), middleName);
-                CustomerMiddleName cmn = CustomerMiddleName.builder()
+                middleNames.add(CustomerMiddleName.builder()
                         .id(id)
                         .middleNameOrder(order++)
                         .customer(customer)
-                        .build();
-                middleNameRepository.save(cmn);
+                        .build());
             }
+            middleNameRepository.saveAll(middleNames);
         }
 
         if (dto.getEmails() != null) {
+            List<CustomerEmail> emails = new ArrayList<>();
             for (String email : dto.getEmails()) {
                 CustomerEmailId id = new CustomerEmailId(customer.getCustomerId(), email);
-                CustomerEmail ce = CustomerEmail.builder()
+                emails.add(CustomerEmail.builder()
                         .id(id)
                         .customer(customer)
-                        .build();
-                emailRepository.save(ce);
+                        .build());
             }
+            emailRepository.saveAll(emails);
         }
     }
 }
@@ -0,0 +1,77 @@
+package com.rkvk.automobile.automobileshop.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the pooled id generators past the ids already in their tables.
+ *
+ * On MySQL Hibernate emulates each sequence with a one-row table ({@code <name>.next_val})
+ * that starts at 1, while the tables switched over from IDENTITY already hold rows.
+ * With the pooled optimizer the stored value is the top of the next block, so it must
+ * be at least max(id) + allocationSize. This creates the table when missing and raises
+ * it past the existing ids; the old AUTO_INCREMENT attribute on the id columns can
+ * stay, Hibernate always supplies the id.
+ *
+ * Runs once the entity manager factory (and schema update) is ready and before the
+ * web server accepts requests. It never moves a generator backwards, so it is safe
+ * on every start.
+ */
+@Slf4j
+@Component
+public class IdSequenceAligner implements SmartInitializingSingleton {
+
+    // allocationSize must match the entity's @SequenceGenerator
+    record Target(String table, String idColumn, String sequence, int allocationSize) {}
+
+    static final List<Target> TARGETS = List.of(
+            new Target("customer", "customer_id", "customer_seq", 50),
+            new Target("vehicle", "vehicle_id", "vehicle_seq", 50),
+            new Target("appointment", "appointment_id", "appointment_seq", 50),
+            new Target("invoice", "invoice_id", "invoice_seq", 50),
+            new Target("inventory", "part_id", "inventory_seq", 50),
+            new Target("mechanic", "mechanic_id", "mechanic_seq", 50),
+            new Target("users", "user_id", "users_seq", 50),
+            new Target("service", "service_id", "service_seq", 50));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean enabled;
+
+    public IdSequenceAligner(
+            JdbcTemplate jdbcTemplate,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${app.id-sequences.align-on-startup:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) return;
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        if (dialect.getSequenceSupport().supportsSequences()) {
+            // real sequences (e.g. H2 in the load test): created by the schema tool, nothing emulated
+            return;
+        }
+        for (Target t : TARGETS) {
+            // also covers ddl-auto=validate/none, where Hibernate does not create the table
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + t.sequence() + " (next_val BIGINT)");
+            jdbcTemplate.update("INSERT INTO " + t.sequence() + " (next_val) SELECT 1 FROM DUAL" +
+                    " WHERE NOT EXISTS (SELECT 1 FROM " + t.sequence() + ")");
+            jdbcTemplate.update("UPDATE " + t.sequence() + " SET next_val = GREATEST(next_val," +
+                    " (SELECT COALESCE(MAX(" + t.idColumn() + "), 0) + ? FROM " + t.table() + "))",
+                    t.allocationSize());
+            log.debug("Aligned id generator {}", t.sequence());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.rkvk.automobile.automobileshop.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Runs an {@code IN (...)} query over a list of any size, {@link #IN_CHUNK} values at a
+ * time, so one statement never carries thousands of bind parameters.
+ */
+final class InQueries {
+
+    static final int IN_CHUNK = 1000;
+
+    private InQueries() {
+    }
+
+    // Results of every chunk's query, in chunk order; no query at all for an empty list
+    static <T, R> List<R> inChunks(List<T> values, Function<List<T>, ? extends Collection<R>> query) {
+        List<R> results = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += IN_CHUNK) {
+            results.addAll(query.apply(values.subList(from, Math.min(from + IN_CHUNK, values.size()))));
+        }
+        return results;
+    }
+}
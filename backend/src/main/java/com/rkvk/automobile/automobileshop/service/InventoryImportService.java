@@ -0,0 +1,392 @@
+package com.rkvk.automobile.automobileshop.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rkvk.automobile.automobileshop.dto.ImportResultDTO;
+import com.rkvk.automobile.automobileshop.dto.ImportRowErrorDTO;
+import com.rkvk.automobile.automobileshop.entity.Inventory;
+import com.rkvk.automobile.automobileshop.exception.InvalidRequestException;
+import com.rkvk.automobile.automobileshop.repository.InventoryRepository;
+import com.rkvk.automobile.automobileshop.repository.projection.InventoryKeyRow;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.util.*;
+
+/**
+ * Bulk upsert of a supplier catalog (CSV with a header row, a JSON array or NDJSON).
+ *
+ * The body is parsed one row at a time and handled in chunks of {@code batch-size}
+ * rows, each in its own transaction: one lookup per key type, then one JDBC batch
+ * of UPDATEs and one batched saveAll of the new parts. Rows match an existing part
+ * by supplier SKU, then by name (a part that has no SKU yet adopts the row's SKU).
+ * Invalid rows are reported and skipped; a chunk the database rejects is reported
+ * as a whole. Chunks committed before a failure stay committed.
+ *
+ * Columns: name (required), supplierSku, quantityAvailable, unitPrice (required
+ * for new parts). Empty quantity / price leave the stored value unchanged.
+ */
+@Slf4j
+@Service
+public class InventoryImportService {
+
+    public enum Format {
+        CSV, JSON;
+
+        // text/csv -> CSV; application/json, application/x-ndjson -> JSON
+        public static Format of(String format, String contentType) {
+            String value = format != null ? format : contentType;
+            if (value != null) {
+                String v = value.toLowerCase(Locale.ROOT);
+                if (v.contains("csv")) return CSV;
+                if (v.contains("json")) return JSON;
+            }
+            throw new InvalidRequestException("Send text/csv, application/json or application/x-ndjson");
+        }
+    }
+
+    private static final String UPDATE_SQL =
+            "UPDATE inventory SET name = ?, supplier_sku = COALESCE(?, supplier_sku)," +
+            " quantity_available = COALESCE(?, quantity_available), unit_price = COALESCE(?, unit_price)," +
+            " version = version + 1 WHERE part_id = ?";
+
+    private static final int MAX_NAME = 255;
+    private static final int MAX_SKU = 64;
+
+    private final InventoryRepository inventoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public InventoryImportService(
+            InventoryRepository inventoryRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            EntityManagerFactory entityManagerFactory,
+            ObjectMapper objectMapper,
+            @Value("${app.inventory.import.batch-size:500}") int batchSize,
+            @Value("${app.inventory.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.inventoryRepository = inventoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    // A parsed, valid row; quantity / price null = keep the stored value
+    private record Row(long row, String name, String sku, Integer quantity, Double price) {
+        String key() {
+            return sku != null ? sku : name;
+        }
+    }
+
+    public ImportResultDTO importCatalog(InputStream body, Format format) {
+        ImportResultDTO result = new ImportResultDTO();
+        long started = System.nanoTime();
+
+        List<Row> chunk = new ArrayList<>(batchSize);
+        try (RowSource source = format == Format.CSV ? new CsvRows(body) : new JsonRows(body)) {
+            Map<String, String> values;
+            while ((values = source.next()) != null) {
+                result.setRowsRead(result.getRowsRead() + 1);
+                Row row = parse(source.rowNumber(), values, result);
+                if (row == null) continue;
+                chunk.add(row);
+                if (chunk.size() == batchSize) {
+                    writeChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            // unreadable body: stop here, keep what was committed and say where
+            addError(result, result.getRowsRead() + 1, null, "Malformed input, import stopped: " + e.getMessage());
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, result);
+        }
+
+        result.setRowsWritten(result.getInserted() + result.getUpdated());
+        result.finish(started);
+        log.info("Inventory import: {} rows read, {} inserted, {} updated, {} failed in {} ms",
+                result.getRowsRead(), result.getInserted(), result.getUpdated(), result.getFailed(),
+                result.getElapsedMs());
+        return result;
+    }
+
+    private Row parse(long rowNo, Map<String, String> values, ImportResultDTO result) {
+        String error = values.get(RowSource.ERROR);
+        String name = trimToNull(values.get("name"));
+        String sku = trimToNull(firstOf(values, "suppliersku", "sku"));
+        String key = sku != null ? sku : name;
+        if (error != null) {
+            addError(result, rowNo, key, error);
+            return null;
+        }
+        if (name == null) {
+            addError(result, rowNo, key, "name is required");
+            return null;
+        }
+        if (name.length() > MAX_NAME) {
+            addError(result, rowNo, key, "name is longer than " + MAX_NAME + " characters");
+            return null;
+        }
+        if (sku != null && sku.length() > MAX_SKU) {
+            addError(result, rowNo, key, "supplierSku is longer than " + MAX_SKU + " characters");
+            return null;
+        }
+
+        Integer quantity;
+        Double price;
+        try {
+            String q = trimToNull(firstOf(values, "quantityavailable", "quantity"));
+            quantity = q != null ? Integer.valueOf(q) : null;
+        } catch (NumberFormatException e) {
+            addError(result, rowNo, key, "quantityAvailable is not a whole number");
+            return null;
+        }
+        try {
+            String p = trimToNull(firstOf(values, "unitprice", "price"));
+            price = p != null ? Double.valueOf(p) : null;
+        } catch (NumberFormatException e) {
+            addError(result, rowNo, key, "unitPrice is not a number");
+            return null;
+        }
+        if (quantity != null && quantity < 0) {
+            addError(result, rowNo, key, "quantityAvailable must not be negative");
+            return null;
+        }
+        if (price != null && (price < 0 || price.isNaN() || price.isInfinite())) {
+            addError(result, rowNo, key, "unitPrice must be a non-negative number");
+            return null;
+        }
+        return new Row(rowNo, name, sku, quantity, price);
+    }
+
+    private void writeChunk(List<Row> rows, ImportResultDTO result) {
+        List<Long> updatedIds = new ArrayList<>();
+        try {
+            ChunkOutcome outcome = transactionTemplate.execute(status -> upsert(rows, updatedIds));
+            result.setUpdated(result.getUpdated() + outcome.updated());
+            result.setInserted(result.getInserted() + outcome.inserted());
+            outcome.missingPrice().forEach(r -> addError(result, r.row(), r.key(), "unitPrice is required for a new part"));
+        } catch (DataAccessException e) {
+            log.warn("Inventory import chunk of {} rows rejected", rows.size(), e);
+            String message = "Chunk rejected by the database: " + e.getMostSpecificCause().getMessage();
+            rows.forEach(r -> addError(result, r.row(), r.key(), message));
+        } finally {
+            // JDBC bypasses Hibernate: drop the cached copies of the parts written
+            Cache cache = entityManagerFactory.getCache();
+            updatedIds.forEach(id -> cache.evict(Inventory.class, id));
+        }
+    }
+
+    private record ChunkOutcome(int updated, int inserted, List<Row> missingPrice) {}
+
+    private ChunkOutcome upsert(List<Row> rows, List<Long> updatedIds) {
+        Set<String> skus = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        rows.forEach(r -> {
+            if (r.sku() != null) skus.add(r.sku());
+            names.add(r.name());
+        });
+
+        Map<String, Long> bySku = new HashMap<>();
+        if (!skus.isEmpty()) {
+            inventoryRepository.findBySupplierSkuIn(skus).forEach(k -> bySku.put(k.getSupplierSku(), k.getPartId()));
+        }
+        // lowest id wins when several parts share a name
+        Map<String, InventoryKeyRow> byName = new HashMap<>();
+        inventoryRepository.findByNameInOrderByPartId(names).forEach(k -> byName.putIfAbsent(k.getName(), k));
+
+        // later rows for the same part replace earlier ones in the same chunk
+        Map<Long, Row> updates = new LinkedHashMap<>();
+        Map<String, Row> inserts = new LinkedHashMap<>();
+        Set<Long> adoptedSku = new HashSet<>();
+        for (Row r : rows) {
+            Long partId = r.sku() != null ? bySku.get(r.sku()) : null;
+            if (partId == null) {
+                InventoryKeyRow named = byName.get(r.name());
+                if (named != null && r.sku() == null) {
+                    partId = named.getPartId();
+                } else if (named != null && named.getSupplierSku() == null && adoptedSku.add(named.getPartId())) {
+                    partId = named.getPartId();
+                    bySku.put(r.sku(), partId);
+                }
+            }
+            if (partId != null) {
+                updates.put(partId, r);
+            } else {
+                inserts.put(r.key(), r);
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            List<Object[]> args = new ArrayList<>(updates.size());
+            updates.forEach((partId, r) -> args.add(new Object[]{r.name(), r.sku(), r.quantity(), r.price(), partId}));
+            jdbcTemplate.batchUpdate(UPDATE_SQL, args,
+                    new int[]{Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.DOUBLE, Types.BIGINT});
+            updatedIds.addAll(updates.keySet());
+        }
+
+        // new parts go through Hibernate for their pooled ids; still one JDBC batch
+        List<Row> missingPrice = new ArrayList<>();
+        List<Inventory> newParts = new ArrayList<>(inserts.size());
+        for (Row r : inserts.values()) {
+            if (r.price() == null) {
+                missingPrice.add(r);
+            } else {
+                newParts.add(Inventory.builder()
+                        .name(r.name())
+                        .supplierSku(r.sku())
+                        .quantityAvailable(r.quantity() != null ? r.quantity() : 0)
+                        .unitPrice(r.price())
+                        .build());
+            }
+        }
+        if (!newParts.isEmpty()) {
+            inventoryRepository.saveAll(newParts);
+            inventoryRepository.flush();
+            entityManager.clear();
+        }
+        return new ChunkOutcome(updates.size(), newParts.size(), missingPrice);
+    }
+
+    private void addError(ImportResultDTO result, long row, String key, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ImportRowErrorDTO(row, key, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static String firstOf(Map<String, String> values, String... keys) {
+        for (String key : keys) {
+            if (values.containsKey(key)) return values.get(key);
+        }
+        return null;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) return null;
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    // ---------------------------------------------------------------------------
+    // Row sources: one record at a time, keys normalized like CSV headers
+    // ---------------------------------------------------------------------------
+
+    private interface RowSource extends Closeable {
+        // set instead of the values when a single row cannot be read
+        String ERROR = "\u0000error";
+
+        Map<String, String> next() throws IOException;
+
+        long rowNumber();
+    }
+
+    private static final class CsvRows implements RowSource {
+        private final CsvRecordReader reader;
+        private final List<String> header;
+        private long row;
+
+        CsvRows(InputStream body) throws IOException {
+            this.reader = new CsvRecordReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            List<String> names = reader.next();
+            if (names == null) {
+                throw new InvalidRequestException("CSV import is empty");
+            }
+            this.header = names.stream().map(CsvRecordReader::normalizeHeader).toList();
+            if (!header.contains("name")) {
+                throw new InvalidRequestException("CSV header must contain a 'name' column");
+            }
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            List<String> fields = reader.next();
+            if (fields == null) return null;
+            row++;
+            Map<String, String> values = new HashMap<>();
+            for (int c = 0; c < header.size() && c < fields.size(); c++) {
+                values.put(header.get(c), fields.get(c));
+            }
+            if (fields.size() > header.size()) {
+                values.put(ERROR, "Row has " + fields.size() + " fields, header has " + header.size());
+            }
+            return values;
+        }
+
+        @Override
+        public long rowNumber() {
+            return row;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    // A top-level JSON array of objects or a stream of objects (NDJSON)
+    private final class JsonRows implements RowSource {
+        private final MappingIterator<JsonNode> iterator;
+        private long row;
+
+        JsonRows(InputStream body) throws IOException {
+            this.iterator = objectMapper.readerFor(JsonNode.class).readValues(body);
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            if (!iterator.hasNextValue()) return null;
+            JsonNode node = iterator.nextValue();
+            row++;
+            Map<String, String> values = new HashMap<>();
+            if (!node.isObject()) {
+                values.put(RowSource.ERROR, "Row is not a JSON object");
+                return values;
+            }
+            for (Map.Entry<String, JsonNode> field : node.properties()) {
+                JsonNode value = field.getValue();
+                if (value.isContainerNode()) {
+                    values.put(RowSource.ERROR, "Field '" + field.getKey() + "' must be a plain value");
+                } else if (!value.isNull()) {
+                    values.put(CsvRecordReader.normalizeHeader(field.getKey()), value.asText());
+                }
+            }
+            return values;
+        }
+
+        @Override
+        public long rowNumber() {
+            return row;
+        }
+
+        @Override
+        public void close() throws IOException {
+            iterator.close();
+        }
+    }
+}
@@ -8,8 +8,12 @@ import com.rkvk.automobile.automobileshop.mapper.InventoryMapper;
 import com.rkvk.automobile.automobileshop.repository.InventoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +30,7 @@ public class InventoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Part not found with id " + id));
 
         existing.setName(dto.getName());
+        existing.setSupplierSku(dto.getSupplierSku());
         existing.setQuantityAvailable(dto.getQuantityAvailable());
         existing.setUnitPrice(dto.getUnitPrice());
 
@@ -44,21 +49,19 @@ public class InventoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Part not found with id " + id));
     }
 
-    public List<Inventory> getAllInventory() {
-        return inventoryRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<InventoryDTO> getAllInventory() {
+        return inventoryRepository.findAllDtos();
     }
 
     // --- Decrease stock (sell/use part) ---
     public Inventory decreaseStock(Long partId, int quantity) {
-        Inventory part = inventoryRepository.findById(partId)
-                .orElseThrow(() -> new ResourceNotFoundException("Part not found with id " + partId));
-
-        if (part.getQuantityAvailable() < quantity) {
-            throw new InsufficientInventoryException("Not enough stock for part " + part.getName());
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity to remove must be positive");
         }
 
-        part.setQuantityAvailable(part.getQuantityAvailable() - quantity);
-        return inventoryRepository.save(part);
+        takeStock(partId, quantity);
+        return getInventoryById(partId);
     }
 
     // --- Increase stock (order/add inventory, ADMIN only) ---
@@ -67,10 +70,65 @@ public class InventoryService {
             throw new IllegalArgumentException("Quantity to add must be positive");
         }
 
-        Inventory part = inventoryRepository.findById(partId)
-                .orElseThrow(() -> new ResourceNotFoundException("Part not found with id " + partId));
+        returnStock(partId, quantity);
+        return getInventoryById(partId);
+    }
+
+    /**
+     * Atomically removes {@code count} units with a guarded UPDATE, so concurrent
+     * callers can never drive stock below zero. Stock is never read-modified-written
+     * in Java; the part row is only read again to explain a rejected update.
+     */
+    public void takeStock(Long partId, int count) {
+        if (inventoryRepository.decreaseStock(partId, count) == 0) {
+            Inventory part = inventoryRepository.findById(partId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Part not found with id " + partId));
+            throw new InsufficientInventoryException("Not enough stock for part " + part.getName());
+        }
+    }
+
+    // Atomically puts count units back (invoice line reduced or removed)
+    public void returnStock(Long partId, int count) {
+        if (inventoryRepository.increaseStock(partId, count) == 0) {
+            throw new ResourceNotFoundException("Part not found with id " + partId);
+        }
+    }
+
+    /**
+     * Multi-part variant of {@link #takeStock(Long, int)}: one guarded UPDATE for all
+     * lines of an invoice. Must run inside the caller's transaction, which is rolled
+     * back by the exception when any part is short. {@code partsById} are the parts as
+     * the caller loaded them just before; they are only used to name the short part.
+     */
+    public void takeStock(Map<Long, Integer> countsByPartId, Map<Long, Inventory> partsById) {
+        Map<Long, Integer> positive = positiveCounts(countsByPartId);
+        if (positive.isEmpty()) return;
+
+        if (inventoryRepository.decreaseStockAll(positive) < positive.size()) {
+            String shortParts = positive.entrySet().stream()
+                    .filter(e -> partsById.containsKey(e.getKey()))
+                    .filter(e -> partsById.get(e.getKey()).getQuantityAvailable() < e.getValue())
+                    .map(e -> partsById.get(e.getKey()).getName())
+                    .collect(Collectors.joining(", "));
+            throw new InsufficientInventoryException("Not enough stock for part "
+                    + (shortParts.isEmpty() ? positive.keySet().toString() : shortParts));
+        }
+    }
+
+    public void returnStock(Map<Long, Integer> countsByPartId) {
+        Map<Long, Integer> positive = positiveCounts(countsByPartId);
+        if (positive.isEmpty()) return;
+
+        if (inventoryRepository.increaseStockAll(positive) < positive.size()) {
+            throw new ResourceNotFoundException("Part not found among ids " + positive.keySet());
+        }
+    }
 
-        part.setQuantityAvailable(part.getQuantityAvailable() + quantity);
-        return inventoryRepository.save(part);
+    private static Map<Long, Integer> positiveCounts(Map<Long, Integer> countsByPartId) {
+        Map<Long, Integer> positive = new LinkedHashMap<>();
+        countsByPartId.forEach((partId, count) -> {
+            if (count != null && count > 0) positive.put(partId, count);
+        });
+        return positive;
     }
 }
@@ -0,0 +1,252 @@
+package com.rkvk.automobile.automobileshop.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.rkvk.automobile.automobileshop.exception.InvalidRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Invoice and line-item exports written row by row to the response stream.
+ *
+ * Rows come from a forward-only, read-only JDBC cursor; with MySQL a fetch size of
+ * Integer.MIN_VALUE makes Connector/J stream the result instead of buffering it, so
+ * memory stays flat whatever the number of rows. Nothing is loaded into the
+ * persistence context. Filters are optional: customer, and a [from, to) range on
+ * the invoice creation time.
+ */
+@Service
+public class InvoiceExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        public final String contentType;
+        public final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRequestException("Unsupported export format '" + value + "' (csv or ndjson)");
+            }
+        }
+    }
+
+    private enum Type { LONG, DOUBLE, STRING, TIMESTAMP }
+
+    private record Column(String name, Type type) {}
+
+    private static final List<Column> INVOICE_COLUMNS = List.of(
+            new Column("invoice_id", Type.LONG),
+            new Column("created_at", Type.TIMESTAMP),
+            new Column("appointment_id", Type.LONG),
+            new Column("vehicle_id", Type.LONG),
+            new Column("customer_id", Type.LONG),
+            new Column("labour_cost", Type.DOUBLE),
+            new Column("tax_percentage", Type.DOUBLE),
+            new Column("parts_subtotal", Type.DOUBLE),
+            new Column("tax_amount", Type.DOUBLE),
+            new Column("grand_total", Type.DOUBLE));
+
+    private static final List<Column> LINE_COLUMNS = List.of(
+            new Column("invoice_id", Type.LONG),
+            new Column("created_at", Type.TIMESTAMP),
+            new Column("customer_id", Type.LONG),
+            new Column("part_id", Type.LONG),
+            new Column("part_name", Type.STRING),
+            new Column("count", Type.LONG),
+            new Column("unit_price", Type.DOUBLE),
+            new Column("line_total", Type.DOUBLE));
+
+    private static final String INVOICE_SQL =
+            "SELECT i.invoice_id, i.created_at, i.appointment_id, a.vehicle_id, v.customer_id," +
+            " i.labour_cost, i.tax_percentage, i.parts_subtotal, i.tax_amount, i.grand_total" +
+            " FROM invoice i" +
+            " LEFT JOIN appointment a ON a.appointment_id = i.appointment_id" +
+            " LEFT JOIN vehicle v ON v.vehicle_id = a.vehicle_id";
+
+    private static final String LINE_SQL =
+            "SELECT u.invoice_id, i.created_at, v.customer_id, u.part_id, p.name," +
+            " u.count, p.unit_price, u.count * p.unit_price" +
+            " FROM uses u" +
+            " JOIN invoice i ON i.invoice_id = u.invoice_id" +
+            " JOIN inventory p ON p.part_id = u.part_id" +
+            " LEFT JOIN appointment a ON a.appointment_id = i.appointment_id" +
+            " LEFT JOIN vehicle v ON v.vehicle_id = a.vehicle_id";
+
+    private static final JsonFactory JSON = new JsonFactoryBuilder()
+            .rootValueSeparator((String) null)
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InvoiceExportService(
+            DataSource dataSource,
+            @Value("${app.export.fetch-size:-2147483648}") int fetchSize) {
+        // own template: the fetch size must not leak into other JDBC users
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public StreamingResponseBody exportInvoices(Format format, Long customerId, LocalDateTime from, LocalDateTime to) {
+        return export(INVOICE_SQL, INVOICE_COLUMNS, "i.invoice_id", format, customerId, from, to);
+    }
+
+    public StreamingResponseBody exportLines(Format format, Long customerId, LocalDateTime from, LocalDateTime to) {
+        return export(LINE_SQL, LINE_COLUMNS, "u.invoice_id, u.part_id", format, customerId, from, to);
+    }
+
+    // Validates up front so a bad request fails before the response is committed
+    private StreamingResponseBody export(String select, List<Column> columns, String orderBy, Format format,
+                                         Long customerId, LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidRequestException("'from' must be before 'to'");
+        }
+
+        StringBuilder sql = new StringBuilder(select).append(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (customerId != null) {
+            sql.append(" AND v.customer_id = ?");
+            args.add(customerId);
+        }
+        if (from != null) {
+            sql.append(" AND i.created_at >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND i.created_at < ?");
+            args.add(to);
+        }
+        sql.append(" ORDER BY ").append(orderBy);
+
+        return out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer, columns) : new NdjsonRowWriter(writer, columns);
+            try {
+                jdbcTemplate.query(sql.toString(), rs -> {
+                    try {
+                        rows.write(rs);
+                    } catch (IOException e) {
+                        // client went away: abort the cursor, JdbcTemplate closes it
+                        throw new UncheckedIOException(e);
+                    }
+                }, args.toArray());
+                rows.finish();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        default void finish() throws IOException {
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private final List<Column> columns;
+
+        CsvRowWriter(Writer writer, List<Column> columns) throws IOException {
+            this.writer = writer;
+            this.columns = columns;
+            for (int c = 0; c < columns.size(); c++) {
+                if (c > 0) writer.write(',');
+                writer.write(columns.get(c).name());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            for (int c = 0; c < columns.size(); c++) {
+                if (c > 0) writer.write(',');
+                Object value = read(rs, c + 1, columns.get(c).type());
+                if (value instanceof String s) {
+                    writer.write(csvQuote(s));
+                } else if (value != null) {
+                    writer.write(value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private static String csvQuote(String s) {
+            if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) {
+                return s;
+            }
+            return '"' + s.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private final List<Column> columns;
+
+        NdjsonRowWriter(Writer writer, List<Column> columns) throws IOException {
+            this.generator = JSON.createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int c = 0; c < columns.size(); c++) {
+                Column column = columns.get(c);
+                Object value = read(rs, c + 1, column.type());
+                generator.writeFieldName(column.name());
+                switch (value) {
+                    case null -> generator.writeNull();
+                    case Long l -> generator.writeNumber(l);
+                    case Double d -> generator.writeNumber(d);
+                    default -> generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    // Boxed value or null; timestamps as ISO-8601 strings
+    private static Object read(ResultSet rs, int index, Type type) throws SQLException {
+        Object value = switch (type) {
+            case LONG -> rs.getLong(index);
+            case DOUBLE -> rs.getDouble(index);
+            case STRING -> rs.getString(index);
+            case TIMESTAMP -> {
+                LocalDateTime time = rs.getObject(index, LocalDateTime.class);
+                yield time != null ? time.toString() : null;
+            }
+        };
+        return rs.wasNull() ? null : value;
+    }
+}
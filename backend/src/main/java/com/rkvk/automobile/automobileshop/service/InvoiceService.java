@@ -7,9 +7,11 @@ import com.rkvk.automobile.automobileshop.exception.*;
 import com.rkvk.automobile.automobileshop.mapper.InvoiceMapper;
 import com.rkvk.automobile.automobileshop.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -22,9 +24,25 @@ public class InvoiceService {
     private final AppointmentRepository appointmentRepository;
     private final InventoryRepository inventoryRepository;
     private final MechanicRepository mechanicRepository;
+    private final InventoryService inventoryService;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final ReportingService reportingService;
 
-    @Transactional
+    // Mutations run through OptimisticLockRetry, which owns the transaction and
+    // replays the whole unit of work when a concurrent writer wins the version check.
     public InvoiceDTO createInvoice(InvoiceDTO dto) {
+        return optimisticLockRetry.execute("invoice.create", () -> doCreateInvoice(dto));
+    }
+
+    public InvoiceDTO updateInvoice(Long invoiceId, InvoiceDTO dto) {
+        return optimisticLockRetry.execute("invoice.update", () -> doUpdateInvoice(invoiceId, dto));
+    }
+
+    public void deleteInvoice(Long id) {
+        optimisticLockRetry.run("invoice.delete", () -> doDeleteInvoice(id));
+    }
+
+    private InvoiceDTO doCreateInvoice(InvoiceDTO dto) {
         Invoice invoice = InvoiceMapper.toEntity(dto);
 
         if (dto.getAppointmentId() != null) {
@@ -35,143 +53,211 @@ public class InvoiceService {
 
         invoice = invoiceRepository.save(invoice);
 
-        // handle used parts & adjust inventory
-        if (dto.getUsedParts() != null) {
-            for (UsedPartDTO up : dto.getUsedParts()) {
-                if (up.getPartId() == null) continue;
-                Inventory part = inventoryRepository.findById(up.getPartId())
-                        .orElseThrow(() -> new ResourceNotFoundException("Part not found"));
-
-                int count = up.getCount() != null ? up.getCount() : 0;
-                if (count > part.getQuantityAvailable()) {
-                    throw new InsufficientInventoryException("Not enough stock for part: " + part.getName());
-                }
-
-                part.setQuantityAvailable(part.getQuantityAvailable() - count);
-                inventoryRepository.save(part);
-
-                Uses uses = Uses.builder()
-                        .id(new UsesId(invoice.getInvoiceId(), part.getPartId()))
+        // handle used parts & adjust inventory: one part lookup, one guarded stock
+        // update and one JDBC batch of inserts, however many lines the invoice has
+        Map<Long, Integer> counts = usedPartCounts(dto.getUsedParts());
+        if (!counts.isEmpty()) {
+            Map<Long, Inventory> parts = loadParts(counts.keySet());
+            inventoryService.takeStock(counts, parts);
+
+            List<Uses> lines = new ArrayList<>();
+            for (Map.Entry<Long, Integer> e : counts.entrySet()) {
+                lines.add(Uses.builder()
+                        .id(new UsesId(invoice.getInvoiceId(), e.getKey()))
                         .invoice(invoice)
-                        .part(part)
-                        .count(count)
-                        .build();
-
-                usesRepository.save(uses);
-                invoice.getUsedParts().add(uses);
+                        .part(parts.get(e.getKey()))
+                        .count(e.getValue())
+                        .build());
             }
+            usesRepository.saveAll(lines);
+            invoice.getUsedParts().addAll(lines);
         }
 
         // attach mechanics
         if (dto.getMechanics() != null) {
-            Set<Mechanic> mechanics = dto.getMechanics().stream()
-                    .map(m -> mechanicRepository.findById(m.getMechanicId())
-                            .orElseThrow(() -> new ResourceNotFoundException("Mechanic not found")))
-                    .collect(Collectors.toSet());
-            invoice.setMechanics(mechanics);
+            invoice.setMechanics(loadMechanics(dto.getMechanics()));
         }
 
-        return InvoiceMapper.toDTO(invoiceRepository.save(invoice));
+        refreshTotals(invoice);
+        invoice = invoiceRepository.save(invoice);
+        reportingService.applyInvoiceChange(null, reportingService.capture(invoice));
+        return InvoiceMapper.toDTO(invoice);
     }
 
+    // Reads map inside a read-only transaction so the DTO never depends on open-session-in-view
+    @Transactional(readOnly = true)
     public InvoiceDTO getInvoiceById(Long id) {
-        return invoiceRepository.findById(id)
+        return invoiceRepository.findWithDetailsByInvoiceId(id)
                 .map(InvoiceMapper::toDTO)
                 .orElseThrow(() -> new ResourceNotFoundException("Invoice not found"));
     }
 
+    @Transactional(readOnly = true)
     public InvoiceDTO getInvoiceForAppointment(Long appointmentId) {
-        return invoiceRepository.findByAppointment_AppointmentId(appointmentId)
+        return invoiceRepository.findWithDetailsByAppointment_AppointmentId(appointmentId)
                 .map(InvoiceMapper::toDTO)
                 .orElseThrow(() -> new ResourceNotFoundException("Invoice not found for appointment"));
     }
 
-    @Transactional
-    public InvoiceDTO updateInvoice(Long invoiceId, InvoiceDTO dto) {
-        Invoice invoice = invoiceRepository.findById(invoiceId)
+    private InvoiceDTO doUpdateInvoice(Long invoiceId, InvoiceDTO dto) {
+        Invoice invoice = invoiceRepository.findWithDetailsByInvoiceId(invoiceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Invoice not found"));
+        ReportingService.InvoiceContribution before = reportingService.capture(invoice);
 
         invoice.setTaxPercentage(dto.getTaxPercentage());
         invoice.setLabourCost(dto.getLabourCost());
 
-        // used parts update logic unchanged
+        // lines missing from the request are removed, as before
         Map<Long, Uses> existingUses = invoice.getUsedParts().stream()
                 .collect(Collectors.toMap(u -> u.getPart().getPartId(), u -> u));
-
-        Set<Long> incomingPartIds = new HashSet<>();
-        if (dto.getUsedParts() != null) {
-            for (UsedPartDTO up : dto.getUsedParts()) {
-                Long partId = up.getPartId();
-                incomingPartIds.add(partId);
-
-                Inventory part = inventoryRepository.findById(partId)
-                        .orElseThrow(() -> new ResourceNotFoundException("Part not found"));
-                int newCount = up.getCount();
-                Uses existing = existingUses.get(partId);
-
-                if (existing != null) {
-                    int oldCount = existing.getCount();
-                    int delta = newCount - oldCount;
-                    if (delta > 0 && part.getQuantityAvailable() < delta)
-                        throw new InsufficientInventoryException("Not enough stock for " + part.getName());
-                    part.setQuantityAvailable(part.getQuantityAvailable() - delta);
-                    inventoryRepository.save(part);
-                    existing.setCount(newCount);
-                    usesRepository.save(existing);
-                } else {
-                    if (newCount > part.getQuantityAvailable())
-                        throw new InsufficientInventoryException("Not enough stock for " + part.getName());
-                    part.setQuantityAvailable(part.getQuantityAvailable() - newCount);
-                    inventoryRepository.save(part);
-                    Uses newUse = Uses.builder()
-                            .id(new UsesId(invoiceId, partId))
-                            .invoice(invoice)
-                            .part(part)
-                            .count(newCount)
-                            .build();
-                    usesRepository.save(newUse);
-                    invoice.getUsedParts().add(newUse);
-                }
+        Map<Long, Integer> incoming = usedPartCounts(dto.getUsedParts());
+
+        // net stock movement per part, applied as one guarded decrement + one increment
+        Map<Long, Integer> toTake = new LinkedHashMap<>();
+        Map<Long, Integer> toReturn = new LinkedHashMap<>();
+        incoming.forEach((partId, newCount) -> {
+            Uses existing = existingUses.get(partId);
+            int delta = newCount - (existing != null ? countOf(existing) : 0);
+            if (delta > 0) toTake.put(partId, delta);
+            else if (delta < 0) toReturn.put(partId, -delta);
+        });
+        List<Uses> removed = new ArrayList<>();
+        existingUses.forEach((partId, u) -> {
+            if (!incoming.containsKey(partId)) {
+                toReturn.put(partId, countOf(u));
+                removed.add(u);
             }
-        }
-
-        for (Uses u : new HashSet<>(invoice.getUsedParts())) {
-            if (!incomingPartIds.contains(u.getPart().getPartId())) {
-                Inventory part = u.getPart();
-                part.setQuantityAvailable(part.getQuantityAvailable() + u.getCount());
-                inventoryRepository.save(part);
-                usesRepository.delete(u);
-                invoice.getUsedParts().remove(u);
+        });
+
+        Map<Long, Inventory> parts = loadParts(incoming.keySet());
+        inventoryService.takeStock(toTake, parts);
+        inventoryService.returnStock(toReturn);
+
+        List<Uses> newLines = new ArrayList<>();
+        incoming.forEach((partId, newCount) -> {
+            Uses existing = existingUses.get(partId);
+            if (existing != null) {
+                existing.setCount(newCount); // flushed with the other changes as a batched UPDATE
+            } else {
+                newLines.add(Uses.builder()
+                        .id(new UsesId(invoiceId, partId))
+                        .invoice(invoice)
+                        .part(parts.get(partId))
+                        .count(newCount)
+                        .build());
             }
-        }
+        });
+        usesRepository.saveAll(newLines);
+        invoice.getUsedParts().addAll(newLines);
+
+        usesRepository.deleteAll(removed);
+        removed.forEach(invoice.getUsedParts()::remove);
 
         // update mechanics
         if (dto.getMechanics() != null) {
-            Set<Mechanic> newMechanics = dto.getMechanics().stream()
-                    .map(m -> mechanicRepository.findById(m.getMechanicId())
-                            .orElseThrow(() -> new ResourceNotFoundException("Mechanic not found")))
-                    .collect(Collectors.toSet());
-            invoice.setMechanics(newMechanics);
+            invoice.setMechanics(loadMechanics(dto.getMechanics()));
         }
 
-        return InvoiceMapper.toDTO(invoiceRepository.save(invoice));
+        refreshTotals(invoice);
+        Invoice saved = invoiceRepository.save(invoice);
+        reportingService.applyInvoiceChange(before, reportingService.capture(saved));
+        return InvoiceMapper.toDTO(saved);
     }
 
-    public void deleteInvoice(Long id) {
+    private void doDeleteInvoice(Long id) {
         Invoice invoice = invoiceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Invoice not found"));
+        reportingService.applyInvoiceChange(reportingService.capture(invoice), null);
 
+        Map<Long, Integer> toReturn = new LinkedHashMap<>();
         for (Uses u : invoice.getUsedParts()) {
-            Inventory part = u.getPart();
-            part.setQuantityAvailable(part.getQuantityAvailable() + u.getCount());
-            inventoryRepository.save(part);
+            toReturn.merge(u.getPart().getPartId(), countOf(u), Integer::sum);
         }
+        inventoryService.returnStock(toReturn);
 
         invoiceRepository.delete(invoice);
     }
+
+    /**
+     * Recomputes the stored summary of an invoice from its lines as they are in the
+     * database (the SUM query flushes pending line changes first). Tax applies to
+     * parts plus labour. Must run inside the caller's transaction.
+     */
+    public void refreshTotals(Invoice invoice) {
+        applyTotals(invoice, usesRepository.sumLineTotals(invoice.getInvoiceId()));
+    }
+
+    static void applyTotals(Invoice invoice, Double partsSubtotal) {
+        double parts = partsSubtotal != null ? partsSubtotal : 0.0;
+        double labour = invoice.getLabourCost() != null ? invoice.getLabourCost() : 0.0;
+        double taxRate = invoice.getTaxPercentage() != null ? invoice.getTaxPercentage() : 0.0;
+        double tax = round2((parts + labour) * taxRate / 100.0);
+
+        invoice.setPartsSubtotal(round2(parts));
+        invoice.setTaxAmount(tax);
+        invoice.setGrandTotal(round2(parts + labour + tax));
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    // partId -> count, skipping lines without a part and merging repeated parts;
+    // counts must be positive, as in UsesService.addUsedPart
+    private static Map<Long, Integer> usedPartCounts(Set<UsedPartDTO> usedParts) {
+        Map<Long, Integer> counts = new LinkedHashMap<>();
+        if (usedParts != null) {
+            for (UsedPartDTO up : usedParts) {
+                if (up.getPartId() == null) continue;
+                if (up.getCount() == null || up.getCount() <= 0) {
+                    throw new InvalidRequestException("Count must be positive for part " + up.getPartId());
+                }
+                counts.merge(up.getPartId(), up.getCount(), Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static int countOf(Uses uses) {
+        return uses.getCount() != null ? uses.getCount() : 0;
+    }
+
+    // One findAllById for all parts of the invoice
+    private Map<Long, Inventory> loadParts(Collection<Long> partIds) {
+        if (partIds.isEmpty()) return Map.of();
+
+        Map<Long, Inventory> parts = inventoryRepository.findAllById(partIds).stream()
+                .collect(Collectors.toMap(Inventory::getPartId, p -> p));
+        List<Long> missing = partIds.stream().filter(id -> !parts.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Part not found with id(s) " + missing);
+        }
+        return parts;
+    }
+
+    // One findAllById for all mechanics of the invoice
+    private Set<Mechanic> loadMechanics(Set<MechanicDTO> mechanicDtos) {
+        Set<Long> ids = mechanicDtos.stream()
+                .map(MechanicDTO::getMechanicId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) return new HashSet<>();
+
+        List<Mechanic> found = mechanicRepository.findAllById(ids);
+        if (found.size() < ids.size()) {
+            Set<Long> foundIds = found.stream().map(Mechanic::getMechanicId).collect(Collectors.toSet());
+            List<Long> missing = ids.stream().filter(id -> !foundIds.contains(id)).toList();
+            throw new ResourceNotFoundException("Mechanic not found with id(s) " + missing);
+        }
+        return new HashSet<>(found);
+    }
+
     // ---------------------------------------------------------------------------
 // Fetch all invoices for a given customer (via vehicle → appointment chain)
+// Lines, parts and mechanics are batch-fetched (@BatchSize), so 200 invoices
+// take one query per association instead of one per invoice
 // ---------------------------------------------------------------------------
+    @Transactional(readOnly = true)
     public List<InvoiceDTO> getInvoicesForCustomer(Long customerId) {
         List<Invoice> invoices = invoiceRepository.findAllByCustomerId(customerId);
         return invoices.stream()
@@ -182,6 +268,7 @@ public class InvoiceService {
     // ---------------------------------------------------------------------------
 // Fetch all invoices for a specific vehicle
 // ---------------------------------------------------------------------------
+    @Transactional(readOnly = true)
     public List<InvoiceDTO> getInvoicesForVehicle(Long vehicleId) {
         List<Invoice> invoices = invoiceRepository.findAllByVehicleId(vehicleId);
         return invoices.stream()
@@ -189,6 +276,7 @@ public class InvoiceService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<InvoiceDTO> getAllInvoices() {
         return invoiceRepository.findAll()
                 .stream()
@@ -196,5 +284,23 @@ public class InvoiceService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public KeysetPageDTO<InvoiceDTO> getInvoicePage(Long afterId, int limit) {
+        int size = KeysetPageDTO.checkLimit(limit);
+        List<InvoiceDTO> invoices = invoiceRepository
+                .findByInvoiceIdGreaterThanOrderByInvoiceIdAsc(afterId, Limit.of(size))
+                .stream()
+                .map(InvoiceMapper::toDTO)
+                .collect(Collectors.toList());
+        return KeysetPageDTO.of(invoices, size, InvoiceDTO::getInvoiceId);
+    }
 
+    // Aggregated in the database over the stored summaries; all filters optional
+    @Transactional(readOnly = true)
+    public InvoiceTotalsDTO getTotals(Long customerId, Long vehicleId, LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidRequestException("'from' must be before 'to'");
+        }
+        return invoiceRepository.sumTotals(customerId, vehicleId, from, to);
+    }
 }
@@ -0,0 +1,82 @@
+package com.rkvk.automobile.automobileshop.service;
+
+import com.rkvk.automobile.automobileshop.entity.Invoice;
+import com.rkvk.automobile.automobileshop.repository.InvoiceRepository;
+import com.rkvk.automobile.automobileshop.repository.UsesRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills the stored invoice summary for rows written before the summary columns existed
+ * (grand_total IS NULL), a chunk per transaction. Does nothing once every invoice has
+ * totals, so it is safe to leave enabled.
+ */
+@Slf4j
+@Component
+public class InvoiceTotalsBackfill implements ApplicationRunner {
+
+    private final InvoiceRepository invoiceRepository;
+    private final UsesRepository usesRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int chunkSize;
+
+    public InvoiceTotalsBackfill(
+            InvoiceRepository invoiceRepository,
+            UsesRepository usesRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.invoice.totals-backfill.enabled:true}") boolean enabled,
+            @Value("${app.invoice.totals-backfill.chunk-size:500}") int chunkSize) {
+        this.invoiceRepository = invoiceRepository;
+        this.usesRepository = usesRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) return;
+
+        int total = 0;
+        while (true) {
+            Integer done = transactionTemplate.execute(status -> backfillChunk());
+            if (done == null || done == 0) break;
+            total += done;
+        }
+        if (total > 0) {
+            log.info("Backfilled stored totals for {} invoices", total);
+        }
+    }
+
+    private int backfillChunk() {
+        List<Long> ids = invoiceRepository.findIdsWithoutTotals(Limit.of(chunkSize));
+        if (ids.isEmpty()) return 0;
+
+        Map<Long, Double> partsByInvoice = new HashMap<>();
+        for (Object[] row : usesRepository.sumLineTotalsByInvoice(ids)) {
+            partsByInvoice.put((Long) row[0], ((Number) row[1]).doubleValue());
+        }
+
+        for (Invoice invoice : invoiceRepository.findAllById(ids)) {
+            if (invoice.getCreatedAt() == null) {
+                invoice.setCreatedAt(invoice.getAppointment() != null
+                        ? invoice.getAppointment().getDateTime()
+                        : LocalDateTime.now());
+            }
+            InvoiceService.applyTotals(invoice, partsByInvoice.getOrDefault(invoice.getInvoiceId(), 0.0));
+        }
+        return ids.size();
+    }
+}
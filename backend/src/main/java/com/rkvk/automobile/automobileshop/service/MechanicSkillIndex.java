@@ -0,0 +1,98 @@
+package com.rkvk.automobile.automobileshop.service;
+
+import com.rkvk.automobile.automobileshop.entity.id.CanDoId;
+import com.rkvk.automobile.automobileshop.repository.CanDoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * In-memory inverted index of the CanDo relation: service id -> bitmap of the
+ * mechanics who can do it. "Who can do all of these services" is the AND of a few
+ * bitmaps, with no query.
+ *
+ * The index is an immutable snapshot swapped in whole, so lookups take no lock. It
+ * is loaded at startup and reloaded from can_do after every committed skill change;
+ * skills change rarely and the table is small (mechanics x services), so a full
+ * reload keeps it simple and always consistent with the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MechanicSkillIndex implements SmartInitializingSingleton {
+
+    // Bit i of every bitmap stands for mechanics[i]; skillCounts[i] = services mechanics[i] can do
+    private record Snapshot(long[] mechanics, int[] skillCounts, Map<Long, BitSet> byService) {}
+
+    public record Qualified(long mechanicId, int skillCount) {}
+
+    private final CanDoRepository canDoRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(new long[0], new int[0], Map.of());
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    public synchronized void reload() {
+        List<CanDoId> pairs = canDoRepository.findAllIds();
+        long[] mechanics = pairs.stream().mapToLong(CanDoId::getMechanicId).distinct().sorted().toArray();
+        int[] skillCounts = new int[mechanics.length];
+        Map<Long, BitSet> byService = new HashMap<>();
+        for (CanDoId pair : pairs) {
+            int bit = Arrays.binarySearch(mechanics, pair.getMechanicId());
+            byService.computeIfAbsent(pair.getServiceId(), id -> new BitSet(mechanics.length)).set(bit);
+            skillCounts[bit]++;
+        }
+        snapshot = new Snapshot(mechanics, skillCounts, byService);
+        log.debug("Skill index loaded: {} mechanics, {} services, {} pairs", mechanics.length, byService.size(), pairs.size());
+    }
+
+    // Call from a transaction that changed can_do
+    public void reloadOnCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    /** Mechanics able to do every one of the services, by ascending id. */
+    public List<Qualified> mechanicsFor(Collection<Long> serviceIds) {
+        Snapshot current = snapshot;
+        BitSet matches = allOf(current, serviceIds);
+        List<Qualified> qualified = new ArrayList<>(matches.cardinality());
+        for (int bit = matches.nextSetBit(0); bit >= 0; bit = matches.nextSetBit(bit + 1)) {
+            qualified.add(new Qualified(current.mechanics()[bit], current.skillCounts()[bit]));
+        }
+        return qualified;
+    }
+
+    public boolean canDo(long mechanicId, Collection<Long> serviceIds) {
+        Snapshot current = snapshot;
+        int bit = Arrays.binarySearch(current.mechanics(), mechanicId);
+        return bit >= 0 && allOf(current, serviceIds).get(bit);
+    }
+
+    private static BitSet allOf(Snapshot current, Collection<Long> serviceIds) {
+        BitSet matches = new BitSet(current.mechanics().length);
+        matches.set(0, current.mechanics().length);
+        for (Long serviceId : serviceIds) {
+            BitSet able = current.byService().get(serviceId);
+            if (able == null) return new BitSet();
+            matches.and(able);
+        }
+        return matches;
+    }
+}
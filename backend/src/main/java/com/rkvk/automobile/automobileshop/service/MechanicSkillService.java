@@ -0,0 +1,109 @@
+package com.rkvk.automobile.automobileshop.service;
+
+import com.rkvk.automobile.automobileshop.dto.KeysetPageDTO;
+import com.rkvk.automobile.automobileshop.dto.MechanicSuggestionDTO;
+import com.rkvk.automobile.automobileshop.entity.CanDo;
+import com.rkvk.automobile.automobileshop.entity.Mechanic;
+import com.rkvk.automobile.automobileshop.entity.ServiceEntity;
+import com.rkvk.automobile.automobileshop.entity.id.CanDoId;
+import com.rkvk.automobile.automobileshop.exception.InvalidRequestException;
+import com.rkvk.automobile.automobileshop.exception.ResourceNotFoundException;
+import com.rkvk.automobile.automobileshop.repository.CanDoRepository;
+import com.rkvk.automobile.automobileshop.repository.MechanicRepository;
+import com.rkvk.automobile.automobileshop.repository.ServiceEntityRepository;
+import com.rkvk.automobile.automobileshop.service.MechanicSkillIndex.Qualified;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Which services a mechanic can do (the CanDo relation) and who to assign to an appointment
+@Service
+@RequiredArgsConstructor
+public class MechanicSkillService {
+
+    private final CanDoRepository canDoRepository;
+    private final MechanicRepository mechanicRepository;
+    private final ServiceEntityRepository serviceEntityRepository;
+    private final MechanicSkillIndex skillIndex;
+    private final SlotScheduler slotScheduler;
+
+    @Transactional(readOnly = true)
+    public List<Long> getSkills(Long mechanicId) {
+        if (!mechanicRepository.existsById(mechanicId)) {
+            throw new ResourceNotFoundException("Mechanic not found with id " + mechanicId);
+        }
+        return canDoRepository.findServiceIdsByMechanicId(mechanicId);
+    }
+
+    // Idempotent: adding a skill the mechanic already has changes nothing
+    @Transactional
+    public void addSkill(Long mechanicId, Long serviceId) {
+        CanDoId id = new CanDoId(mechanicId, serviceId);
+        if (canDoRepository.existsById(id)) return;
+
+        Mechanic mechanic = mechanicRepository.findById(mechanicId)
+                .orElseThrow(() -> new ResourceNotFoundException("Mechanic not found with id " + mechanicId));
+        ServiceEntity service = serviceEntityRepository.findById(serviceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Service not found with id " + serviceId));
+        canDoRepository.save(CanDo.builder().id(id).mechanic(mechanic).service(service).build());
+        skillIndex.reloadOnCommit();
+    }
+
+    @Transactional
+    public void removeSkill(Long mechanicId, Long serviceId) {
+        CanDoId id = new CanDoId(mechanicId, serviceId);
+        if (!canDoRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Mechanic " + mechanicId + " has no skill for service " + serviceId);
+        }
+        canDoRepository.deleteById(id);
+        skillIndex.reloadOnCommit();
+    }
+
+    /**
+     * Mechanics who can do every requested service and are free at the slot. Ranked by
+     * fewest appointments that day, then by the narrowest skill set, so versatile
+     * mechanics stay free for the jobs only they can do.
+     */
+    @Transactional(readOnly = true)
+    public List<MechanicSuggestionDTO> suggestMechanics(LocalDateTime dateTime, Set<Long> serviceIds, int limit) {
+        if (serviceIds == null || serviceIds.isEmpty()) {
+            throw new InvalidRequestException("serviceIds are required");
+        }
+        int size = KeysetPageDTO.checkLimit(limit);
+        slotScheduler.checkBookable(dateTime);
+
+        Set<Long> busy = slotScheduler.busyMechanics(dateTime);
+        Map<Long, Integer> bookedThatDay = slotScheduler.mechanicBookings(dateTime.toLocalDate());
+        List<Qualified> ranked = skillIndex.mechanicsFor(serviceIds).stream()
+                .filter(q -> !busy.contains(q.mechanicId()))
+                .sorted(Comparator.<Qualified>comparingInt(q -> bookedThatDay.getOrDefault(q.mechanicId(), 0))
+                        .thenComparingInt(Qualified::skillCount)
+                        .thenComparingLong(Qualified::mechanicId))
+                .limit(size)
+                .toList();
+
+        // names from the mechanic 2LC region
+        Map<Long, Mechanic> mechanics = mechanicRepository.findAllById(ranked.stream().map(Qualified::mechanicId).toList())
+                .stream()
+                .collect(Collectors.toMap(Mechanic::getMechanicId, Function.identity()));
+
+        return ranked.stream()
+                .filter(q -> mechanics.containsKey(q.mechanicId()))
+                .map(q -> {
+                    Mechanic m = mechanics.get(q.mechanicId());
+                    return MechanicSuggestionDTO.builder()
+                            .mechanicId(m.getMechanicId())
+                            .firstName(m.getFirstName())
+                            .lastName(m.getLastName())
+                            .bookedThatDay(bookedThatDay.getOrDefault(q.mechanicId(), 0))
+                            .skillCount(q.skillCount())
+                            .build();
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.rkvk.automobile.automobileshop.service;
+
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own transaction and re-runs it when a @Version check
+ * fails, sleeping a jittered exponential backoff between attempts.
+ * Conflict, retry and give-up counts are published as
+ * app.optimistic_lock.{conflicts,retries,exhausted}, tagged by operation.
+ */
+@Slf4j
+@Component
+public class OptimisticLockRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    public OptimisticLockRetry(
+            PlatformTransactionManager transactionManager,
+            @Value("${app.retry.optimistic.max-attempts:4}") int maxAttempts,
+            @Value("${app.retry.optimistic.initial-backoff-ms:20}") long initialBackoffMs,
+            @Value("${app.retry.optimistic.max-backoff-ms:250}") long maxBackoffMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        // Inside a caller's transaction a retry cannot help: the outer transaction
+        // is already rollback-only, so let the conflict propagate to its owner.
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException ex) {
+                Metrics.counter("app.optimistic_lock.conflicts", "operation", operation).increment();
+                if (attempt >= maxAttempts) {
+                    Metrics.counter("app.optimistic_lock.exhausted", "operation", operation).increment();
+                    log.warn("Optimistic lock conflict on {} not resolved after {} attempts", operation, attempt);
+                    throw ex;
+                }
+                Metrics.counter("app.optimistic_lock.retries", "operation", operation).increment();
+                log.debug("Optimistic lock conflict on {} (attempt {}), retrying", operation, attempt);
+                backoff(attempt, ex);
+            }
+        }
+    }
+
+    public void run(String operation, Runnable work) {
+        execute(operation, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // Full jitter: sleep a random time in [0, min(max, initial * 2^(attempt-1))]
+    private void backoff(int attempt, OptimisticLockingFailureException cause) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
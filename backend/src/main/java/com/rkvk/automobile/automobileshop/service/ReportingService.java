@@ -0,0 +1,185 @@
+package com.rkvk.automobile.automobileshop.service;
+
+import com.rkvk.automobile.automobileshop.dto.*;
+import com.rkvk.automobile.automobileshop.entity.*;
+import com.rkvk.automobile.automobileshop.exception.InvalidRequestException;
+import com.rkvk.automobile.automobileshop.repository.*;
+import com.rkvk.automobile.automobileshop.repository.ReportRollupWriter.PartDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/*
+ * Daily rollups behind the /api/reports endpoints.
+ *
+ * Writers capture an invoice's contribution before and after they change it and
+ * hand both to applyInvoiceChange, which upserts only the difference. The upserts
+ * run in the writer's transaction (MANDATORY), so a rolled-back or retried invoice
+ * never leaves its numbers behind. Keys are written in ascending order so two
+ * transactions touching the same parts lock the rows in the same order.
+ *
+ * Revenue and part usage are booked on the invoice's creation day, service demand
+ * on the appointment's scheduled day. Part revenue uses the unit price at the time
+ * of the change; rebuild() recomputes a range from the source tables at current
+ * prices (see ReportRollupWriter.rebuild).
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportingService {
+
+    static final int MAX_RANGE_DAYS = 366 * 5;
+
+    private final DailyRevenueRepository dailyRevenueRepository;
+    private final DailyPartUsageRepository dailyPartUsageRepository;
+    private final DailyMechanicLoadRepository dailyMechanicLoadRepository;
+    private final DailyServiceDemandRepository dailyServiceDemandRepository;
+    private final ReportRollupWriter rollupWriter;
+    private final UsesRepository usesRepository;
+
+    // What one invoice currently adds to the rollups
+    public record InvoiceContribution(LocalDate day, double parts, double labour, double tax, double grand,
+                                      Map<Long, PartDelta> partUsage, Set<Long> mechanicIds) {}
+
+    /**
+     * Snapshot of the invoice as stored: totals from the summary fields (call after
+     * refreshTotals) and lines re-read from the database so changes made through
+     * UsesRepository rather than the collection are seen too.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public InvoiceContribution capture(Invoice invoice) {
+        Map<Long, PartDelta> partUsage = new TreeMap<>();
+        for (Uses u : usesRepository.findByInvoice_InvoiceId(invoice.getInvoiceId())) {
+            long count = u.getCount() != null ? u.getCount() : 0;
+            double price = u.getPart().getUnitPrice() != null ? u.getPart().getUnitPrice() : 0.0;
+            partUsage.merge(u.getPart().getPartId(), new PartDelta(count, count * price), ReportingService::plus);
+        }
+
+        Set<Long> mechanicIds = new TreeSet<>();
+        if (invoice.getMechanics() != null) {
+            invoice.getMechanics().forEach(m -> mechanicIds.add(m.getMechanicId()));
+        }
+
+        LocalDateTime createdAt = invoice.getCreatedAt() != null ? invoice.getCreatedAt() : LocalDateTime.now();
+        return new InvoiceContribution(createdAt.toLocalDate(),
+                valueOf(invoice.getPartsSubtotal()), valueOf(invoice.getLabourCost()),
+                valueOf(invoice.getTaxAmount()), valueOf(invoice.getGrandTotal()),
+                partUsage, mechanicIds);
+    }
+
+    // before == null: invoice created; after == null: invoice deleted
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyInvoiceChange(InvoiceContribution before, InvoiceContribution after) {
+        if (before != null && after != null && !before.day().equals(after.day())) {
+            applyInvoiceChange(before, null);
+            applyInvoiceChange(null, after);
+            return;
+        }
+        InvoiceContribution any = after != null ? after : before;
+        if (any == null) return;
+        LocalDate day = any.day();
+
+        long invoices = (after != null ? 1 : 0) - (before != null ? 1 : 0);
+        double parts = diff(before, after, InvoiceContribution::parts);
+        double labour = diff(before, after, InvoiceContribution::labour);
+        double tax = diff(before, after, InvoiceContribution::tax);
+        double grand = diff(before, after, InvoiceContribution::grand);
+        if (invoices != 0 || parts != 0 || labour != 0 || tax != 0 || grand != 0) {
+            rollupWriter.addRevenue(day, invoices, parts, labour, tax, grand);
+        }
+
+        Map<Long, PartDelta> partDeltas = new TreeMap<>();
+        if (after != null) after.partUsage().forEach((id, d) -> partDeltas.merge(id, d, ReportingService::plus));
+        if (before != null) before.partUsage().forEach((id, d) ->
+                partDeltas.merge(id, new PartDelta(-d.quantity(), -d.revenue()), ReportingService::plus));
+        partDeltas.values().removeIf(d -> d.quantity() == 0 && d.revenue() == 0);
+        rollupWriter.addPartUsage(day, partDeltas);
+
+        Map<Long, Long> mechanicDeltas = new TreeMap<>();
+        if (after != null) after.mechanicIds().forEach(id -> mechanicDeltas.merge(id, 1L, Long::sum));
+        if (before != null) before.mechanicIds().forEach(id -> mechanicDeltas.merge(id, -1L, Long::sum));
+        mechanicDeltas.values().removeIf(d -> d == 0);
+        rollupWriter.addMechanicLoad(day, mechanicDeltas);
+    }
+
+    // Cancelled appointments are not demand: status changes call these as well
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appointmentBooked(Appointment appointment) {
+        applyAppointment(appointment, 1L);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appointmentRemoved(Appointment appointment) {
+        applyAppointment(appointment, -1L);
+    }
+
+    private void applyAppointment(Appointment appointment, long delta) {
+        if (appointment.getDateTime() == null || appointment.getServices() == null) return;
+        Map<Long, Long> deltas = new TreeMap<>();
+        appointment.getServices().forEach(s -> deltas.put(s.getServiceId(), delta));
+        rollupWriter.addServiceDemand(appointment.getDateTime().toLocalDate(), deltas);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailyRevenueDTO> getDailyRevenue(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return dailyRevenueRepository.findDaily(from, to);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PartUsageReportDTO> getTopParts(LocalDate from, LocalDate to, int limit) {
+        checkRange(from, to);
+        return dailyPartUsageRepository.findTopParts(from, to, Limit.of(KeysetPageDTO.checkLimit(limit)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<MechanicWorkloadDTO> getMechanicWorkload(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return dailyMechanicLoadRepository.findWorkload(from, to);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ServiceDemandDTO> getServiceDemand(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return dailyServiceDemandRepository.findDemand(from, to);
+    }
+
+    @Transactional
+    public void rebuild(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        rollupWriter.rebuild(from, to);
+    }
+
+    // Inclusive day range
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new InvalidRequestException("'from' and 'to' are required");
+        }
+        if (to.isBefore(from)) {
+            throw new InvalidRequestException("'from' must not be after 'to'");
+        }
+        if (from.plusDays(MAX_RANGE_DAYS).isBefore(to)) {
+            throw new InvalidRequestException("Range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    private static double diff(InvoiceContribution before, InvoiceContribution after,
+                               ToDoubleFunction<InvoiceContribution> field) {
+        double value = (after != null ? field.applyAsDouble(after) : 0) - (before != null ? field.applyAsDouble(before) : 0);
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static PartDelta plus(PartDelta a, PartDelta b) {
+        return new PartDelta(a.quantity() + b.quantity(), a.revenue() + b.revenue());
+    }
+
+    private static double valueOf(Double value) {
+        return value != null ? value : 0.0;
+    }
+}
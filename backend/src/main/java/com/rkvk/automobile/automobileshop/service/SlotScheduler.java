@@ -0,0 +1,373 @@
+package com.rkvk.automobile.automobileshop.service;
+
+import com.rkvk.automobile.automobileshop.dto.SlotAvailabilityDTO;
+import com.rkvk.automobile.automobileshop.entity.Appointment.AppointmentStatus;
+import com.rkvk.automobile.automobileshop.exception.AppointmentConflictException;
+import com.rkvk.automobile.automobileshop.exception.InvalidRequestException;
+import com.rkvk.automobile.automobileshop.exception.MechanicUnavailableException;
+import com.rkvk.automobile.automobileshop.repository.AppointmentRepository;
+import com.rkvk.automobile.automobileshop.repository.projection.AppointmentRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index of booked appointment slots per bay and per mechanic.
+ *
+ * The working day is cut into fixed slots of {@code slot-minutes} between opening and
+ * closing time; an appointment holds the slot starting at its dateTime on one bay,
+ * and optionally one mechanic. Each slot's occupancy is an immutable SlotState in a
+ * skip list keyed by start time, so availability checks and free-slot scans read
+ * without locking. Reservations check and write under a single lock: of two
+ * receptionists booking the same bay or mechanic only one succeeds, the other gets
+ * AppointmentConflictException / MechanicUnavailableException before anything is
+ * written.
+ *
+ * A reservation is taken inside the booking transaction and undone if it rolls back;
+ * releases (cancel, delete) apply once the transaction commits. The index is loaded
+ * at startup with every appointment from today on, so it is authoritative for a
+ * single application instance only.
+ */
+@Slf4j
+@Component
+public class SlotScheduler implements SmartInitializingSingleton {
+
+    // bays[i] = id of the appointment on bay i + 1, 0 when free; mechanic id -> appointment id
+    private record SlotState(long[] bays, Map<Long, Long> mechanics) {
+
+        int firstFreeBay() {
+            for (int i = 0; i < bays.length; i++) {
+                if (bays[i] == 0) return i + 1;
+            }
+            return 0;
+        }
+
+        boolean bayFree(int bayNo) {
+            return bays[bayNo - 1] == 0;
+        }
+
+        boolean mechanicFree(Long mechanicId) {
+            return mechanicId == null || !mechanics.containsKey(mechanicId);
+        }
+
+        List<Integer> freeBays() {
+            List<Integer> free = new ArrayList<>();
+            for (int i = 0; i < bays.length; i++) {
+                if (bays[i] == 0) free.add(i + 1);
+            }
+            return free;
+        }
+
+        boolean isEmpty() {
+            return mechanics.isEmpty() && Arrays.stream(bays).allMatch(id -> id == 0);
+        }
+
+        SlotState with(int bayNo, long appointmentId, Long mechanicId) {
+            long[] nextBays = bays.clone();
+            nextBays[bayNo - 1] = appointmentId;
+            Map<Long, Long> nextMechanics = mechanics;
+            if (mechanicId != null) {
+                nextMechanics = new HashMap<>(mechanics);
+                nextMechanics.put(mechanicId, appointmentId);
+            }
+            return new SlotState(nextBays, nextMechanics);
+        }
+
+        SlotState without(int bayNo, long appointmentId, Long mechanicId) {
+            long[] nextBays = bays.clone();
+            if (nextBays[bayNo - 1] == appointmentId) nextBays[bayNo - 1] = 0;
+            Map<Long, Long> nextMechanics = mechanics;
+            if (mechanicId != null && Objects.equals(mechanics.get(mechanicId), appointmentId)) {
+                nextMechanics = new HashMap<>(mechanics);
+                nextMechanics.remove(mechanicId);
+            }
+            return new SlotState(nextBays, nextMechanics);
+        }
+    }
+
+    private record Booking(LocalDateTime slot, int bayNo, Long mechanicId) {}
+
+    private final AppointmentRepository appointmentRepository;
+    private final int slotSeconds;
+    private final int bayCount;
+    private final LocalTime openingTime;
+    private final LocalTime closingTime;
+    private final int horizonDays;
+    private final int maxFreeSlots;
+
+    private final ConcurrentSkipListMap<LocalDateTime, SlotState> slots = new ConcurrentSkipListMap<>();
+    private final Map<Long, Booking> bookings = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private final SlotState emptySlot;
+    private volatile LocalDate indexedFrom = LocalDate.MIN;
+
+    public SlotScheduler(
+            AppointmentRepository appointmentRepository,
+            @Value("${app.scheduling.slot-minutes:60}") int slotMinutes,
+            @Value("${app.scheduling.bays:4}") int bayCount,
+            @Value("${app.scheduling.opening-time:09:00}") LocalTime openingTime,
+            @Value("${app.scheduling.closing-time:18:00}") LocalTime closingTime,
+            @Value("${app.scheduling.horizon-days:90}") int horizonDays,
+            @Value("${app.scheduling.max-free-slots:50}") int maxFreeSlots) {
+        if (slotMinutes < 1 || bayCount < 1 || horizonDays < 1
+                || openingTime.toSecondOfDay() + slotMinutes * 60 > closingTime.toSecondOfDay()) {
+            throw new IllegalStateException("Invalid app.scheduling configuration: no bookable slot in a day");
+        }
+        this.appointmentRepository = appointmentRepository;
+        this.slotSeconds = slotMinutes * 60;
+        this.bayCount = bayCount;
+        this.openingTime = openingTime;
+        this.closingTime = closingTime;
+        this.horizonDays = horizonDays;
+        this.maxFreeSlots = Math.max(1, maxFreeSlots);
+        this.emptySlot = new SlotState(new long[bayCount], Map.of());
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    // Reloads the index from the appointment table; rows that no longer fit are logged, not dropped
+    public void rebuild() {
+        LocalDate today = LocalDate.now();
+        List<AppointmentRow> rows = appointmentRepository.findRowsScheduledFromExcludingStatus(
+                today.atStartOfDay(), AppointmentStatus.CANCELLED);
+
+        int unplaced = 0;
+        synchronized (lock) {
+            slots.clear();
+            bookings.clear();
+            indexedFrom = today;
+            for (AppointmentRow row : rows) {
+                LocalDateTime slot = floorSlot(row.getDateTime());
+                if (slot == null) {
+                    unplaced++;
+                    continue;
+                }
+                SlotState state = slots.getOrDefault(slot, emptySlot);
+                // appointments from before bays existed take the first free one
+                Integer bay = row.getBayNo();
+                if (bay == null || bay < 1 || bay > bayCount || !state.bayFree(bay)) {
+                    bay = state.firstFreeBay();
+                }
+                if (bay == 0 || !state.mechanicFree(row.getMechanicId())) {
+                    unplaced++;
+                    continue;
+                }
+                put(row.getAppointmentId(), new Booking(slot, bay, row.getMechanicId()), state);
+            }
+        }
+        log.info("Slot index loaded: {} appointments from {} in {} slots", bookings.size(), today, slots.size());
+        if (unplaced > 0) {
+            log.warn("{} appointments from {} are outside opening hours or overbooked and hold no slot", unplaced, today);
+        }
+    }
+
+    /**
+     * Rejects a dateTime that is not the start of a slot within opening hours, is in
+     * the past or lies beyond the booking horizon.
+     */
+    public void checkBookable(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            throw new InvalidRequestException("dateTime is required");
+        }
+        if (!dateTime.equals(floorSlot(dateTime))) {
+            throw new InvalidRequestException("Appointments start on a " + slotSeconds / 60 + "-minute slot between "
+                    + openingTime + " and " + closingTime);
+        }
+        if (dateTime.isBefore(LocalDateTime.now())) {
+            throw new InvalidRequestException("Cannot book a slot in the past");
+        }
+        if (dateTime.toLocalDate().isAfter(LocalDate.now().plusDays(horizonDays))) {
+            throw new InvalidRequestException("Appointments can be booked at most " + horizonDays + " days ahead");
+        }
+    }
+
+    /**
+     * Takes a bay (the given one, or the lowest free one) and the mechanic, if any, for
+     * the appointment's slot; undone automatically if the surrounding transaction rolls
+     * back. Returns the bay, or bayNo unchanged for a slot outside the index (past day
+     * or outside opening hours), which is not tracked.
+     */
+    public Integer reserve(long appointmentId, LocalDateTime dateTime, Integer bayNo, Long mechanicId) {
+        LocalDateTime slot = floorSlot(dateTime);
+        if (bayNo != null && (bayNo < 1 || bayNo > bayCount)) {
+            throw new InvalidRequestException("bayNo must be between 1 and " + bayCount);
+        }
+
+        Booking booking;
+        synchronized (lock) {
+            pruneBefore(LocalDate.now());
+            if (slot == null || slot.toLocalDate().isBefore(indexedFrom)) {
+                return bayNo;
+            }
+            SlotState state = slots.getOrDefault(slot, emptySlot);
+            if (!state.mechanicFree(mechanicId)) {
+                throw new MechanicUnavailableException("Mechanic " + mechanicId + " is already booked at " + slot);
+            }
+            int bay;
+            if (bayNo != null) {
+                if (!state.bayFree(bayNo)) {
+                    throw new AppointmentConflictException("Bay " + bayNo + " is already booked at " + slot);
+                }
+                bay = bayNo;
+            } else {
+                bay = state.firstFreeBay();
+                if (bay == 0) {
+                    throw new AppointmentConflictException("No bay is free at " + slot);
+                }
+            }
+            booking = new Booking(slot, bay, mechanicId);
+            put(appointmentId, booking, state);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) release(appointmentId, booking);
+                }
+            });
+        }
+        return booking.bayNo();
+    }
+
+    // Frees the appointment's slot once the surrounding transaction commits
+    public void releaseOnCommit(long appointmentId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release(appointmentId, null);
+                }
+            });
+        } else {
+            release(appointmentId, null);
+        }
+    }
+
+    /** Mechanics already booked in the slot starting at {@code slot}. */
+    public Set<Long> busyMechanics(LocalDateTime slot) {
+        SlotState state = slots.get(slot);
+        return state != null ? Collections.unmodifiableSet(state.mechanics().keySet()) : Set.of();
+    }
+
+    /** Appointments booked with each mechanic on one day. */
+    public Map<Long, Integer> mechanicBookings(LocalDate day) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (SlotState state : slots.subMap(day.atStartOfDay(), day.plusDays(1).atStartOfDay()).values()) {
+            state.mechanics().keySet().forEach(id -> counts.merge(id, 1, Integer::sum));
+        }
+        return counts;
+    }
+
+    /** Free bays at one slot, and whether the bay / mechanic asked for is free there. */
+    public SlotAvailabilityDTO getAvailability(LocalDateTime dateTime, Integer bayNo, Long mechanicId) {
+        checkBookable(dateTime);
+        if (bayNo != null && (bayNo < 1 || bayNo > bayCount)) {
+            throw new InvalidRequestException("bayNo must be between 1 and " + bayCount);
+        }
+        return availability(dateTime, slots.getOrDefault(dateTime, emptySlot), bayNo, mechanicId);
+    }
+
+    /** The first {@code count} slots at or after {@code from} with a free bay (and mechanic). */
+    public List<SlotAvailabilityDTO> findFreeSlots(LocalDateTime from, int count, Integer bayNo, Long mechanicId) {
+        if (count < 1 || count > maxFreeSlots) {
+            throw new InvalidRequestException("count must be between 1 and " + maxFreeSlots);
+        }
+        if (bayNo != null && (bayNo < 1 || bayNo > bayCount)) {
+            throw new InvalidRequestException("bayNo must be between 1 and " + bayCount);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime end = LocalDate.now().plusDays(horizonDays + 1).atStartOfDay();
+
+        List<SlotAvailabilityDTO> free = new ArrayList<>(count);
+        LocalDateTime slot = firstSlotAtOrAfter(from == null || from.isBefore(now) ? now : from);
+        while (slot.isBefore(end) && free.size() < count) {
+            SlotAvailabilityDTO availability = availability(slot, slots.getOrDefault(slot, emptySlot), bayNo, mechanicId);
+            if (availability.isFree()) free.add(availability);
+            slot = firstSlotAtOrAfter(slot.plusSeconds(slotSeconds));
+        }
+        return free;
+    }
+
+    private SlotAvailabilityDTO availability(LocalDateTime slot, SlotState state, Integer bayNo, Long mechanicId) {
+        List<Integer> freeBays = state.freeBays();
+        Boolean mechanicFree = mechanicId != null ? state.mechanicFree(mechanicId) : null;
+        boolean bayFree = bayNo != null ? state.bayFree(bayNo) : !freeBays.isEmpty();
+        return SlotAvailabilityDTO.builder()
+                .dateTime(slot)
+                .freeBays(freeBays)
+                .mechanicFree(mechanicFree)
+                .free(bayFree && !Boolean.FALSE.equals(mechanicFree))
+                .build();
+    }
+
+    // Callers hold the lock
+    private void put(long appointmentId, Booking booking, SlotState state) {
+        slots.put(booking.slot(), state.with(booking.bayNo(), appointmentId, booking.mechanicId()));
+        bookings.put(appointmentId, booking);
+    }
+
+    // expected == null: whatever the appointment holds
+    private void release(long appointmentId, Booking expected) {
+        synchronized (lock) {
+            Booking booking = bookings.get(appointmentId);
+            if (booking == null || (expected != null && !booking.equals(expected))) return;
+            bookings.remove(appointmentId);
+            SlotState state = slots.get(booking.slot());
+            if (state == null) return;
+            SlotState next = state.without(booking.bayNo(), appointmentId, booking.mechanicId());
+            if (next.isEmpty()) {
+                slots.remove(booking.slot());
+            } else {
+                slots.put(booking.slot(), next);
+            }
+        }
+    }
+
+    // Drops days that have gone by; callers hold the lock
+    private void pruneBefore(LocalDate today) {
+        if (!indexedFrom.isBefore(today)) return;
+        slots.headMap(today.atStartOfDay()).clear();
+        bookings.values().removeIf(b -> b.slot().toLocalDate().isBefore(today));
+        indexedFrom = today;
+    }
+
+    // Start of the slot containing dateTime, or null outside opening hours
+    private LocalDateTime floorSlot(LocalDateTime dateTime) {
+        int seconds = dateTime.toLocalTime().toSecondOfDay() - openingTime.toSecondOfDay();
+        if (seconds < 0) return null;
+        int start = openingTime.toSecondOfDay() + seconds / slotSeconds * slotSeconds;
+        if (start + slotSeconds > closingTime.toSecondOfDay()) return null;
+        return dateTime.toLocalDate().atTime(LocalTime.ofSecondOfDay(start));
+    }
+
+    private LocalDateTime firstSlotAtOrAfter(LocalDateTime dateTime) {
+        if (dateTime.getNano() > 0) {
+            dateTime = dateTime.withNano(0).plusSeconds(1);
+        }
+        LocalDate day = dateTime.toLocalDate();
+        int seconds = dateTime.toLocalTime().toSecondOfDay() - openingTime.toSecondOfDay();
+        if (seconds <= 0) {
+            return day.atTime(openingTime);
+        }
+        int slotIndex = (seconds + slotSeconds - 1) / slotSeconds;
+        int start = openingTime.toSecondOfDay() + slotIndex * slotSeconds;
+        if (start + slotSeconds > closingTime.toSecondOfDay()) {
+            return day.plusDays(1).atTime(openingTime);
+        }
+        return day.atTime(LocalTime.ofSecondOfDay(start));
+    }
+}
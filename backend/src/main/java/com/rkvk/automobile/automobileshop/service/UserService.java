@@ -5,8 +5,10 @@ import com.rkvk.automobile.automobileshop.entity.User;
 import com.rkvk.automobile.automobileshop.exception.ResourceNotFoundException;
 import com.rkvk.automobile.automobileshop.mapper.UserMapper;
 import com.rkvk.automobile.automobileshop.repository.UserRepository;
+import com.rkvk.automobile.automobileshop.security.CustomUserDetailsService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -22,6 +24,8 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    // username or role may change, so drop every cached principal
+    @CacheEvict(cacheNames = CustomUserDetailsService.PRINCIPAL_CACHE, allEntries = true)
     public User updateUser(Long id, UserDTO userDTO) {
         User existing = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + id));
@@ -47,6 +51,7 @@ public class UserService {
         return userRepository.save(existing);
     }
 
+    @CacheEvict(cacheNames = CustomUserDetailsService.PRINCIPAL_CACHE, allEntries = true)
     public void deleteUser(Long id) {
         if (!userRepository.existsById(id)) {
             throw new ResourceNotFoundException("User not found with id " + id);
@@ -3,13 +3,12 @@ package com.rkvk.automobile.automobileshop.service;
 import com.rkvk.automobile.automobileshop.dto.UsesDTO;
 import com.rkvk.automobile.automobileshop.entity.*;
 import com.rkvk.automobile.automobileshop.entity.id.UsesId;
-import com.rkvk.automobile.automobileshop.exception.InsufficientInventoryException;
+import com.rkvk.automobile.automobileshop.exception.InvalidRequestException;
 import com.rkvk.automobile.automobileshop.exception.ResourceNotFoundException;
 import com.rkvk.automobile.automobileshop.mapper.UsesMapper;
 import com.rkvk.automobile.automobileshop.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -21,25 +20,40 @@ public class UsesService {
     private final UsesRepository usesRepository;
     private final InvoiceRepository invoiceRepository;
     private final InventoryRepository inventoryRepository;
+    private final InventoryService inventoryService;
+    private final InvoiceService invoiceService;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final ReportingService reportingService;
 
     /* ✅ Add a used part to invoice and subtract from inventory */
-    @Transactional
     public UsesDTO addUsedPart(Long invoiceId, Long partId, int count) {
         if (count <= 0) throw new IllegalArgumentException("Count must be positive");
+        return optimisticLockRetry.execute("uses.add", () -> doAddUsedPart(invoiceId, partId, count));
+    }
+
+    /* ✅ Update count of a used part (adjust inventory accordingly); 0 removes the line */
+    public UsesDTO updateUsedPart(Long invoiceId, Long partId, int newCount) {
+        if (newCount < 0) throw new InvalidRequestException("Count must not be negative");
+        return optimisticLockRetry.execute("uses.update", () -> doUpdateUsedPart(invoiceId, partId, newCount));
+    }
+
+    /* ✅ Remove a used part and return stock */
+    public void deleteUsedPart(Long invoiceId, Long partId) {
+        optimisticLockRetry.run("uses.delete", () -> doDeleteUsedPart(invoiceId, partId));
+    }
+
+    private UsesDTO doAddUsedPart(Long invoiceId, Long partId, int count) {
 
         Invoice invoice = invoiceRepository.findById(invoiceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Invoice not found with id " + invoiceId));
+        ReportingService.InvoiceContribution before = reportingService.capture(invoice);
+
+        // decrease inventory (guarded single-statement update)
+        inventoryService.takeStock(partId, count);
 
         Inventory part = inventoryRepository.findById(partId)
                 .orElseThrow(() -> new ResourceNotFoundException("Part not found with id " + partId));
 
-        if (part.getQuantityAvailable() < count)
-            throw new InsufficientInventoryException("Not enough inventory available for part " + part.getName());
-
-        // decrease inventory
-        part.setQuantityAvailable(part.getQuantityAvailable() - count);
-        inventoryRepository.save(part);
-
         // if already exists, update count
         UsesId id = new UsesId(invoiceId, partId);
         Uses uses = usesRepository.findById(id).orElse(Uses.builder()
@@ -51,49 +65,53 @@ public class UsesService {
 
         uses.setCount(uses.getCount() + count);
         usesRepository.save(uses);
+        invoiceService.refreshTotals(invoice);
+        reportingService.applyInvoiceChange(before, reportingService.capture(invoice));
 
         return UsesMapper.toDTO(uses);
     }
 
-    /* ✅ Update count of a used part (adjust inventory accordingly) */
-    @Transactional
-    public UsesDTO updateUsedPart(Long invoiceId, Long partId, int newCount) {
+    private UsesDTO doUpdateUsedPart(Long invoiceId, Long partId, int newCount) {
         UsesId id = new UsesId(invoiceId, partId);
         Uses uses = usesRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Used part not found for given invoice and part"));
+        ReportingService.InvoiceContribution before = reportingService.capture(uses.getInvoice());
 
-        Inventory part = uses.getPart();
         int oldCount = uses.getCount();
         int delta = newCount - oldCount;
 
         if (delta > 0) {
-            if (part.getQuantityAvailable() < delta)
-                throw new InsufficientInventoryException("Not enough stock to increase usage");
-            part.setQuantityAvailable(part.getQuantityAvailable() - delta);
+            inventoryService.takeStock(partId, delta);
         } else if (delta < 0) {
-            part.setQuantityAvailable(part.getQuantityAvailable() + Math.abs(delta));
+            inventoryService.returnStock(partId, Math.abs(delta));
         }
 
+        Invoice invoice = uses.getInvoice();
         uses.setCount(newCount);
-        inventoryRepository.save(part);
-        usesRepository.save(uses);
+        if (newCount == 0) {
+            usesRepository.delete(uses);
+        } else {
+            usesRepository.save(uses);
+        }
+        invoiceService.refreshTotals(invoice);
+        reportingService.applyInvoiceChange(before, reportingService.capture(invoice));
         return UsesMapper.toDTO(uses);
     }
 
-    /* ✅ Remove a used part and return stock */
-    @Transactional
-    public void deleteUsedPart(Long invoiceId, Long partId) {
+    private void doDeleteUsedPart(Long invoiceId, Long partId) {
         UsesId id = new UsesId(invoiceId, partId);
         Uses uses = usesRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Used part not found"));
+        ReportingService.InvoiceContribution before = reportingService.capture(uses.getInvoice());
 
-        Inventory part = uses.getPart();
         if (uses.getCount() != null && uses.getCount() > 0) {
-            part.setQuantityAvailable(part.getQuantityAvailable() + uses.getCount());
-            inventoryRepository.save(part);
+            inventoryService.returnStock(partId, uses.getCount());
         }
 
+        Invoice invoice = uses.getInvoice();
         usesRepository.delete(uses);
+        invoiceService.refreshTotals(invoice);
+        reportingService.applyInvoiceChange(before, reportingService.capture(invoice));
     }
 
     /* ✅ Get all used parts for an invoice */
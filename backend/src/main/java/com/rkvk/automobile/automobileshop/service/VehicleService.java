@@ -1,5 +1,6 @@
 package com.rkvk.automobile.automobileshop.service;
 
+import com.rkvk.automobile.automobileshop.dto.KeysetPageDTO;
 import com.rkvk.automobile.automobileshop.dto.VehicleDTO;
 import com.rkvk.automobile.automobileshop.entity.Customer;
 import com.rkvk.automobile.automobileshop.entity.Vehicle;
@@ -8,7 +9,9 @@ import com.rkvk.automobile.automobileshop.mapper.VehicleMapper;
 import com.rkvk.automobile.automobileshop.repository.CustomerRepository;
 import com.rkvk.automobile.automobileshop.repository.VehicleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -35,11 +38,9 @@ public class VehicleService {
         return VehicleMapper.toDto(vehicle);
     }
 
+    @Transactional(readOnly = true)
     public List<VehicleDTO> getVehiclesByCustomer(Long customerId) {
-        return vehicleRepository.findByCustomerCustomerId(customerId)
-                .stream()
-                .map(VehicleMapper::toDto)
-                .toList();
+        return vehicleRepository.findDtosByCustomerId(customerId);
     }
 
     public VehicleDTO updateVehicle(Long vehicleId, VehicleDTO dto) {
@@ -63,11 +64,17 @@ public class VehicleService {
         vehicleRepository.deleteById(vehicleId);
     }
 
+    // List reads select straight into VehicleDTO (see VehicleRepository.DTO_SELECT)
+    @Transactional(readOnly = true)
     public List<VehicleDTO> getAllVehicles() {
-        return vehicleRepository.findAll()
-                .stream()
-                .map(VehicleMapper::toDto) // or your manual mapper
-                .toList();
+        return vehicleRepository.findAllDtos();
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPageDTO<VehicleDTO> getVehiclePage(Long afterId, int limit) {
+        int size = KeysetPageDTO.checkLimit(limit);
+        List<VehicleDTO> vehicles = vehicleRepository.findDtosAfter(afterId, Limit.of(size));
+        return KeysetPageDTO.of(vehicles, size, VehicleDTO::getVehicleId);
     }
 
 }
\ No newline at end of file
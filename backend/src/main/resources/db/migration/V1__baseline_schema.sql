@@ -0,0 +1,180 @@
+-- Baseline: the schema as ddl-auto built it from the entity mappings before migrations
+-- existed (MySQL 8, InnoDB): IDENTITY ids, Hibernate's generated constraint names.
+-- Such databases have no history table; they are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and only run the migrations after it.
+
+CREATE TABLE users (
+    user_id    BIGINT       NOT NULL AUTO_INCREMENT,
+    city       VARCHAR(255),
+    first_name VARCHAR(255),
+    house_no   VARCHAR(255),
+    last_name  VARCHAR(255),
+    locality   VARCHAR(255),
+    password   VARCHAR(255),
+    pin_code   VARCHAR(255),
+    street     VARCHAR(255),
+    username   VARCHAR(255) NOT NULL,
+    role       ENUM ('ADMIN','RECEPTIONIST'),
+    PRIMARY KEY (user_id),
+    CONSTRAINT UKr43af9ap4edm43mmtq01oddj6 UNIQUE (username)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_email (
+    user_id BIGINT       NOT NULL,
+    email   VARCHAR(255) NOT NULL,
+    PRIMARY KEY (user_id, email),
+    CONSTRAINT FKrmuyuv27bd3tu8krjtaod9s2k FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_middle_name (
+    middle_name_order INTEGER,
+    user_id           BIGINT       NOT NULL,
+    middle_name       VARCHAR(255) NOT NULL,
+    PRIMARY KEY (user_id, middle_name),
+    CONSTRAINT FKbmnsty5u513mavcmu3ri1nn3i FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE customer (
+    customer_id BIGINT NOT NULL AUTO_INCREMENT,
+    city        VARCHAR(255),
+    first_name  VARCHAR(255),
+    house_no    VARCHAR(255),
+    last_name   VARCHAR(255),
+    locality    VARCHAR(255),
+    pin_code    VARCHAR(255),
+    street      VARCHAR(255),
+    PRIMARY KEY (customer_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE customer_email (
+    customer_id BIGINT       NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    PRIMARY KEY (customer_id, email),
+    CONSTRAINT FKh5u55guhvuev278q6tko9or82 FOREIGN KEY (customer_id) REFERENCES customer (customer_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE customer_middle_name (
+    middle_name_order INTEGER,
+    customer_id       BIGINT       NOT NULL,
+    middle_name       VARCHAR(255) NOT NULL,
+    PRIMARY KEY (customer_id, middle_name),
+    CONSTRAINT FKkbcd954ujcnraa6oxd95wxwni FOREIGN KEY (customer_id) REFERENCES customer (customer_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE vehicle (
+    year            INTEGER,
+    customer_id     BIGINT,
+    vehicle_id      BIGINT NOT NULL AUTO_INCREMENT,
+    brand           VARCHAR(255),
+    fuel_type       VARCHAR(255),
+    model           VARCHAR(255),
+    registration_no VARCHAR(255),
+    PRIMARY KEY (vehicle_id),
+    CONSTRAINT FKlwqsusjj6iodeb0df1b554vxq FOREIGN KEY (customer_id) REFERENCES customer (customer_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE mechanic (
+    mechanic_id BIGINT NOT NULL AUTO_INCREMENT,
+    city        VARCHAR(255),
+    first_name  VARCHAR(255),
+    house_no    VARCHAR(255),
+    last_name   VARCHAR(255),
+    locality    VARCHAR(255),
+    pin_code    VARCHAR(255),
+    street      VARCHAR(255),
+    PRIMARY KEY (mechanic_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE mechanic_middle_name (
+    middle_name_order    INTEGER,
+    mechanic_id          BIGINT       NOT NULL,
+    mechanic_middle_name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (mechanic_id, mechanic_middle_name),
+    CONSTRAINT FKthi7cc40o5tji9aq97gtne2p5 FOREIGN KEY (mechanic_id) REFERENCES mechanic (mechanic_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE mechanic_phone (
+    mechanic_id BIGINT       NOT NULL,
+    phone_no    VARCHAR(255) NOT NULL,
+    PRIMARY KEY (mechanic_id, phone_no),
+    CONSTRAINT FK6c2uyj8krerajfk4q91nucpb5 FOREIGN KEY (mechanic_id) REFERENCES mechanic (mechanic_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE service (
+    service_id   BIGINT NOT NULL AUTO_INCREMENT,
+    description  VARCHAR(255),
+    service_name VARCHAR(255),
+    PRIMARY KEY (service_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE can_do (
+    mechanic_id BIGINT NOT NULL,
+    service_id  BIGINT NOT NULL,
+    PRIMARY KEY (mechanic_id, service_id),
+    CONSTRAINT FKn99cfw0tch4k1of7873rjrhdt FOREIGN KEY (mechanic_id) REFERENCES mechanic (mechanic_id),
+    CONSTRAINT FKiyjc8fuc7x9hlvf4od8u5h7kq FOREIGN KEY (service_id) REFERENCES service (service_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE inventory (
+    quantity_available INTEGER,
+    unit_price         DOUBLE PRECISION,
+    part_id            BIGINT NOT NULL AUTO_INCREMENT,
+    name               VARCHAR(255),
+    PRIMARY KEY (part_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE appointment (
+    appointment_id BIGINT      NOT NULL AUTO_INCREMENT,
+    created_at     DATETIME(6) NOT NULL,
+    date_time      DATETIME(6) NOT NULL,
+    user_id        BIGINT      NOT NULL,
+    vehicle_id     BIGINT      NOT NULL,
+    status         ENUM ('BOOKED','CANCELLED','COMPLETED','ONGOING') NOT NULL,
+    PRIMARY KEY (appointment_id),
+    CONSTRAINT FK7bo52i6usixwb7ira9l16y3bu FOREIGN KEY (user_id) REFERENCES users (user_id),
+    CONSTRAINT FKqx6mcwqh2njoj5b7tl29g15qg FOREIGN KEY (vehicle_id) REFERENCES vehicle (vehicle_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE appointment_services (
+    appointment_id BIGINT NOT NULL,
+    service_id     BIGINT NOT NULL,
+    PRIMARY KEY (appointment_id, service_id),
+    CONSTRAINT FKkv6gwfscv4td54g96ra0p0gn0 FOREIGN KEY (appointment_id) REFERENCES appointment (appointment_id),
+    CONSTRAINT FKlftn8g6pb51cx9r5dwacexm2b FOREIGN KEY (service_id) REFERENCES service (service_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE invoice (
+    labour_cost    DOUBLE PRECISION,
+    tax_percentage DOUBLE PRECISION,
+    appointment_id BIGINT,
+    invoice_id     BIGINT NOT NULL AUTO_INCREMENT,
+    PRIMARY KEY (invoice_id),
+    CONSTRAINT UKsij7yenf2dlvvxb2d32x12ijc UNIQUE (appointment_id),
+    CONSTRAINT FKh2quh5xy8jiqbaxy6c9m8qe6d FOREIGN KEY (appointment_id) REFERENCES appointment (appointment_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE invoice_mechanic (
+    invoice_id  BIGINT NOT NULL,
+    mechanic_id BIGINT NOT NULL,
+    PRIMARY KEY (invoice_id, mechanic_id),
+    CONSTRAINT FKk4lgtipwcn9sgbj5263qla3p7 FOREIGN KEY (invoice_id) REFERENCES invoice (invoice_id),
+    CONSTRAINT FKr1u54nynximukbw7ihmcl9er9 FOREIGN KEY (mechanic_id) REFERENCES mechanic (mechanic_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE uses (
+    count      INTEGER,
+    invoice_id BIGINT NOT NULL,
+    part_id    BIGINT NOT NULL,
+    PRIMARY KEY (invoice_id, part_id),
+    CONSTRAINT FKfp4vwfh23kqwung242h6i8yk6 FOREIGN KEY (invoice_id) REFERENCES invoice (invoice_id),
+    CONSTRAINT FKt51e8nr4lg17te5qw5my7jtqq FOREIGN KEY (part_id) REFERENCES inventory (part_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE required (
+    invoice_id  BIGINT NOT NULL,
+    mechanic_id BIGINT NOT NULL,
+    description VARCHAR(255),
+    PRIMARY KEY (invoice_id, mechanic_id),
+    CONSTRAINT FKeu7tentmcxxj2m4mcd9pygvjm FOREIGN KEY (invoice_id) REFERENCES invoice (invoice_id),
+    CONSTRAINT FKt9ajpm0viffhpyn0on3pj0k4s FOREIGN KEY (mechanic_id) REFERENCES mechanic (mechanic_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,84 @@
+-- Schema changes on top of the baseline: pooled ids, optimistic locking, stored invoice
+-- totals, bay / mechanic assignment and the reporting rollups.
+
+-- Pooled id generators (allocationSize = 50), one row each, started past the existing ids
+-- the way IdSequenceAligner keeps them. The old AUTO_INCREMENT attribute stays; Hibernate
+-- always supplies the id.
+CREATE TABLE users_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO users_seq SELECT COALESCE(MAX(user_id), 0) + 50 FROM users;
+CREATE TABLE customer_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO customer_seq SELECT COALESCE(MAX(customer_id), 0) + 50 FROM customer;
+CREATE TABLE vehicle_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO vehicle_seq SELECT COALESCE(MAX(vehicle_id), 0) + 50 FROM vehicle;
+CREATE TABLE mechanic_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO mechanic_seq SELECT COALESCE(MAX(mechanic_id), 0) + 50 FROM mechanic;
+CREATE TABLE service_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO service_seq SELECT COALESCE(MAX(service_id), 0) + 50 FROM service;
+CREATE TABLE inventory_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO inventory_seq SELECT COALESCE(MAX(part_id), 0) + 50 FROM inventory;
+CREATE TABLE appointment_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO appointment_seq SELECT COALESCE(MAX(appointment_id), 0) + 50 FROM appointment;
+CREATE TABLE invoice_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO invoice_seq SELECT COALESCE(MAX(invoice_id), 0) + 50 FROM invoice;
+
+-- @Version columns; existing rows start at 0
+ALTER TABLE inventory ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE invoice ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE uses ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- supplier catalog key for InventoryImportService
+ALTER TABLE inventory ADD COLUMN supplier_sku VARCHAR(64);
+ALTER TABLE inventory ADD CONSTRAINT uk_inventory_supplier_sku UNIQUE (supplier_sku);
+
+-- stored totals; InvoiceTotalsBackfill fills them (and created_at) for existing invoices
+ALTER TABLE invoice ADD COLUMN created_at DATETIME(6);
+ALTER TABLE invoice ADD COLUMN parts_subtotal DOUBLE PRECISION;
+ALTER TABLE invoice ADD COLUMN tax_amount DOUBLE PRECISION;
+ALTER TABLE invoice ADD COLUMN grand_total DOUBLE PRECISION;
+
+-- SlotScheduler assignments; null on appointments booked before bays existed
+ALTER TABLE appointment ADD COLUMN bay_no INTEGER;
+ALTER TABLE appointment ADD COLUMN mechanic_id BIGINT;
+ALTER TABLE appointment ADD CONSTRAINT fk_appointment_mechanic
+    FOREIGN KEY (mechanic_id) REFERENCES mechanic (mechanic_id);
+
+-- AppointmentService tells user / vehicle violations apart by constraint name
+ALTER TABLE appointment DROP FOREIGN KEY FK7bo52i6usixwb7ira9l16y3bu;
+ALTER TABLE appointment ADD CONSTRAINT fk_appointment_user
+    FOREIGN KEY (user_id) REFERENCES users (user_id);
+ALTER TABLE appointment DROP FOREIGN KEY FKqx6mcwqh2njoj5b7tl29g15qg;
+ALTER TABLE appointment ADD CONSTRAINT fk_appointment_vehicle
+    FOREIGN KEY (vehicle_id) REFERENCES vehicle (vehicle_id);
+
+-- Daily rollups behind /api/reports, maintained by ReportingService
+CREATE TABLE report_daily_revenue (
+    report_date    DATE             NOT NULL,
+    invoice_count  BIGINT           NOT NULL,
+    parts_revenue  DOUBLE PRECISION NOT NULL,
+    labour_revenue DOUBLE PRECISION NOT NULL,
+    tax_amount     DOUBLE PRECISION NOT NULL,
+    grand_total    DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (report_date)
+) ENGINE = InnoDB;
+
+CREATE TABLE report_daily_part_usage (
+    report_date DATE             NOT NULL,
+    part_id     BIGINT           NOT NULL,
+    quantity    BIGINT           NOT NULL,
+    revenue     DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (report_date, part_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE report_daily_mechanic_load (
+    report_date   DATE   NOT NULL,
+    mechanic_id   BIGINT NOT NULL,
+    invoice_count BIGINT NOT NULL,
+    PRIMARY KEY (report_date, mechanic_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE report_daily_service_demand (
+    report_date       DATE   NOT NULL,
+    service_id        BIGINT NOT NULL,
+    appointment_count BIGINT NOT NULL,
+    PRIMARY KEY (report_date, service_id)
+) ENGINE = InnoDB;
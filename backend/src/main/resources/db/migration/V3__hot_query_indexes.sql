@@ -0,0 +1,18 @@
+-- Secondary indexes for the predicates the repositories filter on. The same indexes are
+-- declared with @Index on the entities, so ddl-auto schemas (load test, tests) get them too.
+-- users.username is already covered by uk_users_username.
+
+-- scheduled / created ranges, calendar, slot index bootstrap
+CREATE INDEX idx_appointment_date_time ON appointment (date_time);
+CREATE INDEX idx_appointment_created_at ON appointment (created_at);
+-- status lists, optionally per user
+CREATE INDEX idx_appointment_status_user ON appointment (status, user_id);
+
+CREATE INDEX idx_vehicle_registration_no ON vehicle (registration_no);
+
+CREATE INDEX idx_customer_city ON customer (city);
+CREATE INDEX idx_customer_last_name ON customer (last_name);
+
+-- city alone and city + pin code use the composite; pin code alone its own index
+CREATE INDEX idx_mechanic_city_pin_code ON mechanic (city, pin_code);
+CREATE INDEX idx_mechanic_pin_code ON mechanic (pin_code);
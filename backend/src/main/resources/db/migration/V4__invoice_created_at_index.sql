@@ -0,0 +1,2 @@
+-- invoice totals, exports and report rebuilds filter on a [from, to) range of created_at
+CREATE INDEX idx_invoice_created_at ON invoice (created_at);
@@ -0,0 +1,79 @@
+package com.rkvk.automobile.automobileshop.monitoring;
+
+import com.rkvk.automobile.automobileshop.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class SqlStatementCountFilterTest {
+
+    // Stands in for Hibernate: every statement goes through the inspector on the request thread
+    @RestController
+    static class QueryingController {
+        private final SqlStatementCounter inspector = new SqlStatementCounter();
+
+        @GetMapping("/rows")
+        List<Long> rows(@RequestParam int count) {
+            runSelects(count);
+            return List.of(1L);
+        }
+
+        @PostMapping("/touch")
+        @ResponseStatus(HttpStatus.NO_CONTENT)
+        void touch(@RequestParam int count) {
+            runSelects(count);
+        }
+
+        private void runSelects(int count) {
+            for (int i = 0; i < count; i++) {
+                inspector.inspect("select * from customer_email where customer_id = ?");
+            }
+        }
+    }
+
+    private MockMvc mockMvc(boolean strict) {
+        SqlStatementCountFilter filter = new SqlStatementCountFilter(true, 25, 5, strict);
+        return MockMvcBuilders.standaloneSetup(new QueryingController())
+                .setControllerAdvice(new SqlStatementCountHeaderAdvice(filter), new GlobalExceptionHandler())
+                .addFilters(filter)
+                .build();
+    }
+
+    @Test
+    void strictModeFailsAnN1RequestBeforeTheBodyIsWritten() throws Exception {
+        mockMvc(true).perform(get("/rows").param("count", "6"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message").value(containsString("possible N+1")));
+    }
+
+    @Test
+    void strictModeFailsABodylessRequest() {
+        assertThatThrownBy(() -> mockMvc(true).perform(post("/touch").param("count", "30")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("possible N+1");
+    }
+
+    @Test
+    void requestsWithinThresholdsPass() throws Exception {
+        mockMvc(true).perform(get("/rows").param("count", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementCountFilter.HEADER, "5"));
+    }
+
+    @Test
+    void defaultModeOnlyWarns() throws Exception {
+        mockMvc(false).perform(get("/rows").param("count", "6"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementCountFilter.HEADER, "6"));
+    }
+}
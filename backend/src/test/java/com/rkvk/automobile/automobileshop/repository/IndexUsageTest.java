@@ -0,0 +1,232 @@
+package com.rkvk.automobile.automobileshop.repository;
+
+import com.rkvk.automobile.automobileshop.entity.*;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the hot repository finders against a seeded in-memory database (H2, MySQL mode)
+ * and fails if the plan of the SQL they generate scans a whole table instead of using
+ * an index.
+ *
+ * The schema is built by the Flyway migrations (db/migration), not by ddl-auto, and
+ * Hibernate validates it against the entity mappings on startup, so migrations drifting
+ * from the entities fail the context and the index migrations drifting from their @Index
+ * declarations fail migrationsCreateTheDeclaredIndexes. The MySQL dialect is used because the
+ * migrations are written for MySQL (table-backed id generators).
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:indexusage;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.show-sql=false",
+        "spring.flyway.enabled=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.rkvk.automobile.automobileshop.repository.IndexUsageTest$SqlRecorder"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class IndexUsageTest {
+
+    // Hibernate creates the inspector by reflection, hence the static list
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private DataSource dataSource;
+    @Autowired private AppointmentRepository appointmentRepository;
+    @Autowired private VehicleRepository vehicleRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private MechanicRepository mechanicRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private InvoiceRepository invoiceRepository;
+
+    @BeforeEach
+    void seed() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            User user = new User();
+            user.setUsername("user" + i);
+            user.setPassword("x");
+            user.setRole(i == 0 ? User.Role.ADMIN : User.Role.RECEPTIONIST);
+            user.setCity("city" + i % 5);
+            users.add(entityManager.persist(user));
+        }
+
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Customer customer = new Customer();
+            customer.setFirstName("first" + i);
+            customer.setLastName("last" + i % 60);
+            customer.setCity("city" + i % 30);
+            customer.setPinCode(String.valueOf(400000 + i % 90));
+            entityManager.persist(customer);
+
+            Vehicle vehicle = new Vehicle();
+            vehicle.setRegistrationNo("MH12-" + (1000 + i));
+            vehicle.setBrand("brand" + i % 8);
+            vehicle.setModel("model" + i % 20);
+            vehicle.setYear(2010 + i % 15);
+            vehicle.setCustomer(customer);
+            vehicles.add(entityManager.persist(vehicle));
+        }
+
+        for (int i = 0; i < 60; i++) {
+            Mechanic mechanic = new Mechanic();
+            mechanic.setFirstName("mechanic" + i);
+            mechanic.setCity("city" + i % 10);
+            mechanic.setPinCode(String.valueOf(400000 + i % 25));
+            entityManager.persist(mechanic);
+        }
+
+        Appointment.AppointmentStatus[] statuses = Appointment.AppointmentStatus.values();
+        for (int i = 0; i < 600; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setUser(users.get(i % users.size()));
+            appointment.setVehicle(vehicles.get(i % vehicles.size()));
+            appointment.setDateTime(START.plusDays(i / 9).plusHours(i % 9));
+            appointment.setCreatedAt(START.minusDays(30).plusHours(i));
+            appointment.setStatus(statuses[i % statuses.length]);
+            entityManager.persist(appointment);
+
+            entityManager.persist(Invoice.builder()
+                    .appointment(appointment)
+                    .labourCost(100.0)
+                    .taxPercentage(18.0)
+                    .createdAt(START.minusDays(30).plusHours(i))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void migrationsCreateTheDeclaredIndexes() throws SQLException {
+        Set<String> declared = new TreeSet<>();
+        for (EntityType<?> entity : entityManager.getEntityManager().getMetamodel().getEntities()) {
+            Table table = entity.getJavaType().getAnnotation(Table.class);
+            if (table == null) continue;
+            for (Index index : table.indexes()) {
+                declared.add(table.name() + "." + index.name());
+            }
+        }
+
+        Set<String> migrated = new TreeSet<>();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT table_name, index_name FROM information_schema.indexes WHERE index_name LIKE 'idx\\_%'");
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                migrated.add((rs.getString(1) + "." + rs.getString(2)).toLowerCase());
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        assertThat(migrated).isEqualTo(declared);
+    }
+
+    @Test
+    void appointmentFindersUseIndexes() throws SQLException {
+        LocalDateTime from = START.plusDays(10);
+        LocalDateTime to = START.plusDays(12);
+        assertNoTableScan(() -> appointmentRepository.findByDateTimeBetween(from, to), from, to);
+        assertNoTableScan(() -> appointmentRepository.findRowsByDateTimeBetween(from, to), from, to);
+
+        LocalDateTime createdFrom = START.minusDays(20);
+        LocalDateTime createdTo = START.minusDays(19);
+        assertNoTableScan(() -> appointmentRepository.findRowsByCreatedAtBetween(createdFrom, createdTo),
+                createdFrom, createdTo);
+
+        Long userId = userRepository.findByUsername("user3").orElseThrow().getUserId();
+        assertNoTableScan(() -> appointmentRepository.findRowsByUserIdAndStatus(userId, Appointment.AppointmentStatus.BOOKED),
+                userId, Appointment.AppointmentStatus.BOOKED.name());
+    }
+
+    @Test
+    void customerAndVehicleFindersUseIndexes() throws SQLException {
+        assertNoTableScan(() -> customerRepository.findByCity("city7"), "city7");
+        assertNoTableScan(() -> customerRepository.findByLastName("last42"), "last42");
+        assertNoTableScan(() -> vehicleRepository.findExistingRegistrationNos(List.of("MH12-1001", "MH12-1002")),
+                "MH12-1001", "MH12-1002");
+    }
+
+    @Test
+    void mechanicAndUserFindersUseIndexes() throws SQLException {
+        assertNoTableScan(() -> mechanicRepository.findByCity("city3"), "city3");
+        assertNoTableScan(() -> mechanicRepository.findByPinCode("400004"), "400004");
+        assertNoTableScan(() -> mechanicRepository.findByCityAndPinCode("city3", "400003"), "city3", "400003");
+        assertNoTableScan(() -> userRepository.findByUsername("user7"), "user7");
+    }
+
+    @Test
+    void invoiceTotalsUseIndexes() throws SQLException {
+        LocalDateTime from = START.minusDays(20);
+        LocalDateTime to = START.minusDays(19);
+        assertNoTableScan(() -> invoiceRepository.sumTotals(null, null, from, to), from, to);
+        assertNoTableScan(() -> invoiceRepository.sumTotals(null, null, from, null), from);
+    }
+
+    // Runs the finder, takes the first SELECT it issued and EXPLAINs it with the same arguments
+    private void assertNoTableScan(Runnable finder, Object... args) throws SQLException {
+        SqlRecorder.STATEMENTS.clear();
+        finder.run();
+        String sql = SqlRecorder.STATEMENTS.stream()
+                .filter(s -> s.regionMatches(true, 0, "select", 0, 6))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("finder issued no SELECT"));
+
+        String plan = explain(sql, args);
+        assertThat(plan).as("plan of %s", sql).doesNotContainIgnoringCase("tableScan");
+    }
+
+    private String explain(String sql, Object... args) throws SQLException {
+        // the test transaction's connection, so the seeded rows are visible to the planner
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (rs.next()) plan.append(rs.getString(1)).append('\n');
+                return plan.toString();
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
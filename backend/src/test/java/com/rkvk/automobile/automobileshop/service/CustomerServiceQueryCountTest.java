@@ -0,0 +1,107 @@
+package com.rkvk.automobile.automobileshop.service;
+
+import com.rkvk.automobile.automobileshop.dto.CustomerDTO;
+import com.rkvk.automobile.automobileshop.entity.Customer;
+import com.rkvk.automobile.automobileshop.entity.CustomerEmail;
+import com.rkvk.automobile.automobileshop.entity.CustomerMiddleName;
+import com.rkvk.automobile.automobileshop.entity.id.CustomerEmailId;
+import com.rkvk.automobile.automobileshop.entity.id.CustomerMiddleNameId;
+import com.rkvk.automobile.automobileshop.mapper.CustomerMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Customer listings load middle names and emails with one query each per
+ * {@link InQueries#IN_CHUNK} customers, not one per customer.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:customerquerycount;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.rkvk.automobile.automobileshop.service.CustomerServiceQueryCountTest$SqlRecorder"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CustomerService.class, CustomerMapper.class})
+class CustomerServiceQueryCountTest {
+
+    // Hibernate creates the inspector by reflection, hence the static list
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private CustomerService customerService;
+
+    @Test
+    void statementCountDoesNotDependOnCustomerCount() {
+        seed(10);
+        assertThat(selectsFor(10)).isEqualTo(3);
+
+        seed(190);
+        assertThat(selectsFor(200)).isEqualTo(3);
+    }
+
+    @Test
+    void childTablesAreReadInChunksOfCustomerIds() {
+        int customers = 2 * InQueries.IN_CHUNK + 100;
+        seed(customers);
+        // customers, then middle names and emails for each of the 3 chunks
+        assertThat(selectsFor(customers)).isEqualTo(7);
+    }
+
+    // Lists all customers and returns the number of statements it took
+    private int selectsFor(int expectedCustomers) {
+        SqlRecorder.STATEMENTS.clear();
+        List<CustomerDTO> customers = customerService.getAllCustomers();
+
+        assertThat(customers).hasSize(expectedCustomers);
+        assertThat(customers).allSatisfy(c -> {
+            assertThat(c.getMiddleNames()).containsExactly("middle" + c.getFirstName());
+            assertThat(c.getEmails()).containsExactly(c.getFirstName() + "@example.com");
+        });
+        return SqlRecorder.STATEMENTS.size();
+    }
+
+    private void seed(int count) {
+        for (int i = 0; i < count; i++) {
+            Customer customer = new Customer();
+            customer.setFirstName("c" + System.nanoTime() + "-" + i);
+            customer.setLastName("last");
+            customer.setCity("city");
+            entityManager.persist(customer);
+
+            entityManager.persist(CustomerMiddleName.builder()
+                    .id(new CustomerMiddleNameId(customer.getCustomerId(), "middle" + customer.getFirstName()))
+                    .middleNameOrder(1)
+                    .customer(customer)
+                    .build());
+            entityManager.persist(CustomerEmail.builder()
+                    .id(new CustomerEmailId(customer.getCustomerId(), customer.getFirstName() + "@example.com"))
+                    .customer(customer)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
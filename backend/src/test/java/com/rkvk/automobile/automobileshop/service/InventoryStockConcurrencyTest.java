@@ -0,0 +1,87 @@
+package com.rkvk.automobile.automobileshop.service;
+
+import com.rkvk.automobile.automobileshop.entity.Inventory;
+import com.rkvk.automobile.automobileshop.exception.InsufficientInventoryException;
+import com.rkvk.automobile.automobileshop.repository.InventoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many threads take stock of one part at the same time, each call committing on its
+ * own (no test transaction): the guarded UPDATE lets exactly as many through as there
+ * are units, and stock never goes below zero.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stockconcurrency;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(InventoryService.class)
+class InventoryStockConcurrencyTest {
+
+    private static final int STOCK = 10;
+    private static final int THREADS = 8;
+    private static final int CALLS_PER_THREAD = 5;
+
+    @Autowired private InventoryService inventoryService;
+    @Autowired private InventoryRepository inventoryRepository;
+
+    @Test
+    void concurrentTakeStockNeverGoesBelowZero() throws Exception {
+        Long partId = inventoryRepository.save(Inventory.builder()
+                .name("brake pad")
+                .quantityAvailable(STOCK)
+                .unitPrice(12.5)
+                .build()).getPartId();
+
+        AtomicInteger taken = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                        try {
+                            inventoryService.takeStock(partId, 1);
+                            taken.incrementAndGet();
+                        } catch (InsufficientInventoryException e) {
+                            refused.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(taken.get()).isEqualTo(STOCK);
+        assertThat(refused.get()).isEqualTo(THREADS * CALLS_PER_THREAD - STOCK);
+        assertThat(inventoryRepository.findStockByPartId(partId)).isZero();
+    }
+}
@@ -0,0 +1,111 @@
+package com.rkvk.automobile.automobileshop.service;
+
+import com.rkvk.automobile.automobileshop.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OptimisticLockRetryTest {
+
+    // Counts the transactions the retry opens; no database involved
+    static class CountingTransactionManager implements PlatformTransactionManager {
+        int begun;
+        int committed;
+        int rolledBack;
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            begun++;
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            committed++;
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            rolledBack++;
+        }
+    }
+
+    private final CountingTransactionManager transactionManager = new CountingTransactionManager();
+    // no backoff sleep: initial backoff 0 ms
+    private final OptimisticLockRetry retry = new OptimisticLockRetry(transactionManager, 4, 0, 0);
+
+    @AfterEach
+    void clearTransactionState() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void retriesInAFreshTransactionUntilTheWorkSucceeds() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retry.execute("test.op", () -> {
+            if (attempts.incrementAndGet() < 3) throw new OptimisticLockingFailureException("stale");
+            return "done";
+        });
+
+        assertThat(result).isEqualTo("done");
+        assertThat(attempts).hasValue(3);
+        assertThat(transactionManager.begun).isEqualTo(3);
+        assertThat(transactionManager.rolledBack).isEqualTo(2);
+        assertThat(transactionManager.committed).isEqualTo(1);
+    }
+
+    @Test
+    void givesUpAfterMaxAttemptsWithAConflictResponse() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.run("test.op", () -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale");
+        }))
+                .isInstanceOfSatisfying(OptimisticLockingFailureException.class, ex ->
+                        assertThat(new GlobalExceptionHandler().handleConcurrentUpdate(ex).getStatusCode())
+                                .isEqualTo(HttpStatus.CONFLICT));
+
+        assertThat(attempts).hasValue(4);
+        assertThat(transactionManager.rolledBack).isEqualTo(4);
+        assertThat(transactionManager.committed).isZero();
+    }
+
+    @Test
+    void otherExceptionsAreNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.run("test.op", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void runsOnceInsideTheCallersTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.run("test.op", () -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale");
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(attempts).hasValue(1);
+        assertThat(transactionManager.begun).isZero();
+    }
+}